@@ -0,0 +1,48 @@
+package com.example.blog;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+/**
+ * docker compose で起動した MySQL に接続する SqlSessionFactory を作成する。
+ * 接続先は application.yml と同じ環境変数で変更できる。
+ */
+public final class BenchmarkSqlSessionFactory {
+
+    private BenchmarkSqlSessionFactory() {
+    }
+
+    public static SqlSessionFactory create(Class<?>... mappers) {
+        var url = "jdbc:mysql://%s:%s/%s".formatted(
+                env("DB_HOST", "localhost"),
+                env("DB_PORT", "3306"),
+                env("DB_NAME", "apidb")
+        );
+        var dataSource = new PooledDataSource(
+                "com.mysql.cj.jdbc.Driver",
+                url,
+                env("DB_USER", "apiuser"),
+                env("DB_PASS", "apipass")
+        );
+
+        var configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource)
+        );
+        // アプリケーションと同じく、同一 SqlSession 内でも結果をキャッシュしない
+        configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+        for (var mapper : mappers) {
+            configuration.addMapper(mapper);
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static String env(String name, String defaultValue) {
+        var value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.blog.config;
+
+import com.example.blog.security.LoggedInUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis に保存するセッションの属性のシリアライズを、JDK シリアライズ（jdk）と SessionConfig の JSON（json）で比較する。
+ * リクエストのたびにセッションを読み込むため deserialize を、属性を変更したリクエストで書き込むため serialize を計測する。
+ * セッション 1 件あたりのバイト数（Redis のハッシュに保存する値の合計）は、セットアップ時に標準出力に表示する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionSerializerBenchmark {
+
+    @Param({"jdk", "json"})
+    private String serializer;
+
+    private RedisSerializer<Object> redisSerializer;
+    private SecurityContextImpl securityContext;
+    private byte[] serializedSecurityContext;
+
+    @Setup
+    public void setup() {
+        redisSerializer = switch (serializer) {
+            case "jdk" -> RedisSerializer.java();
+            case "json" -> new SessionConfig().springSessionDefaultRedisSerializer();
+            default -> throw new IllegalArgumentException(serializer);
+        };
+
+        var user = new LoggedInUser(1L, "username1", "password1", true);
+        user.eraseCredentials();
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", "c8f3a2d4-6b1e-4f0a-9d2c-7e5b8a1f3c60"));
+        securityContext = new SecurityContextImpl(authentication);
+        serializedSecurityContext = redisSerializer.serialize(securityContext);
+
+        // RedisSessionRepository がセッションのハッシュに保存する値
+        var now = System.currentTimeMillis();
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("creationTime", now);
+        session.put("lastAccessedTime", now);
+        session.put("maxInactiveInterval", 3600);
+        session.put("sessionAttr:SPRING_SECURITY_CONTEXT", securityContext);
+        session.put("sessionAttr:" + ReplicaRoutingDataSource.LAST_WRITE_AT_ATTRIBUTE, now);
+        var bytesPerSession = session.values().stream()
+                .mapToInt(value -> redisSerializer.serialize(value).length)
+                .sum();
+        System.out.printf(
+                "%n%s: security context %d bytes, session %d bytes%n",
+                serializer, serializedSecurityContext.length, bytesPerSession
+        );
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(securityContext);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(serializedSecurityContext);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.BenchmarkSqlSessionFactory;
+import com.example.blog.service.article.ArticleCommentEntity;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * コメント一覧の取得で、記事を JOIN する変更前の SELECT と、コメントの列だけを取得する SELECT を比較する。
+ * 1回あたりのヒープ割り当て量は gc プロファイラの gc.alloc.rate.norm で確認する。
+ * MySQL から転送されたバイト数は、セットアップ時に Bytes_sent の差分から計測して標準出力に表示する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArticleCommentRepositoryListBenchmark {
+
+    private static final String ARTICLE_TITLE = "benchmark_comment_article";
+    private static final int COMMENTS = 100;
+    // コメント一覧の 1 ページ（limit のデフォルト値 + 次ページ判定用の 1 件）
+    private static final int LIMIT = 21;
+
+    @Param({"1000", "10000"})
+    private int articleBodyLength;
+
+    private SqlSession sqlSession;
+    private ArticleCommentRepository articleCommentRepository;
+    private JoinedArticleCommentRepository joinedArticleCommentRepository;
+    private long articleId;
+
+    /**
+     * 変更前の selectByArticleId と同じく、コメントごとに記事と記事の投稿者を JOIN する。
+     */
+    public interface JoinedArticleCommentRepository {
+
+        @Select("""
+                SELECT
+                    ac.id         AS article_comment__id
+                  , ac.body       AS article_comment__body
+                  , ac.created_at AS article_comment__created_at
+
+                  , a.id          AS article__id
+                  , a.title       AS article__title
+                  , a.body        AS article__body
+                  , a.created_at  AS article__created_at
+                  , a.updated_at  AS article__updated_at
+
+                  , aa.id         AS article_author__id
+                  , aa.username   AS article_author__username
+                  , aa.enabled    AS article_author__enabled
+
+                  , ca.id         AS comment_author__id
+                  , ca.username   AS comment_author__username
+                  , ca.enabled    AS comment_author__enabled
+                FROM article_comments ac
+                JOIN articles a ON ac.article_id = a.id
+                JOIN users aa ON a.user_id = aa.id
+                JOIN users ca ON ac.user_id = ca.id
+                WHERE ac.article_id = #{articleId}
+                ORDER BY ac.created_at, ac.id
+                LIMIT #{limit}
+                """)
+        @ResultMap("com.example.blog.repository.article.ArticleCommentRepository." + ArticleCommentRepository.ARTICLE_COMMENT_RESULT_MAP_ID)
+        List<ArticleCommentEntity> selectByArticleId(@Param("articleId") long articleId, @Param("limit") int limit);
+    }
+
+    @Setup
+    public void setup() throws SQLException {
+        sqlSession = BenchmarkSqlSessionFactory.create(
+                ArticleCommentRepository.class,
+                JoinedArticleCommentRepository.class
+        ).openSession(true);
+        articleCommentRepository = sqlSession.getMapper(ArticleCommentRepository.class);
+        joinedArticleCommentRepository = sqlSession.getMapper(JoinedArticleCommentRepository.class);
+        seed();
+
+        System.out.printf(
+                "%nbytes sent by MySQL per call (articleBodyLength=%d): joined=%d, lean=%d%n",
+                articleBodyLength,
+                bytesSentPerCall(this::joined),
+                bytesSentPerCall(this::lean)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Benchmark
+    public List<ArticleCommentEntity> joined() {
+        return joinedArticleCommentRepository.selectByArticleId(articleId, LIMIT);
+    }
+
+    @Benchmark
+    public List<ArticleCommentEntity> lean() {
+        return articleCommentRepository.selectPageByArticleId(articleId, null, LIMIT);
+    }
+
+    private long bytesSentPerCall(Supplier<List<ArticleCommentEntity>> query) throws SQLException {
+        var calls = 100;
+        // SHOW STATUS 自体の応答も Bytes_sent に含まれるため、空の計測で差し引く
+        var first = bytesSent();
+        var overhead = bytesSent() - first;
+        var before = bytesSent();
+        for (var i = 0; i < calls; i++) {
+            query.get();
+        }
+        var after = bytesSent();
+        return (after - before - overhead) / calls;
+    }
+
+    private long bytesSent() throws SQLException {
+        try (var statement = sqlSession.getConnection().createStatement();
+             var resultSet = statement.executeQuery("SHOW SESSION STATUS LIKE 'Bytes_sent'")) {
+            resultSet.next();
+            return resultSet.getLong(2);
+        }
+    }
+
+    private void seed() throws SQLException {
+        var connection = sqlSession.getConnection();
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (username, password, enabled)
+                    SELECT 'benchmark_user', 'benchmark_password', true
+                    WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'benchmark_user')
+                    """);
+        }
+
+        // 本文の長さごとに記事を作り、コメントを COMMENTS 件追加する
+        var title = ARTICLE_TITLE + "_" + articleBodyLength;
+        try (var statement = connection.prepareStatement("""
+                INSERT INTO articles (user_id, title, body, excerpt, created_at, updated_at)
+                SELECT u.id, ?, REPEAT('a', ?), '', NOW(), NOW()
+                FROM users u
+                WHERE u.username = 'benchmark_user'
+                  AND NOT EXISTS (SELECT 1 FROM articles WHERE title = ?)
+                """)) {
+            statement.setString(1, title);
+            statement.setInt(2, articleBodyLength);
+            statement.setString(3, title);
+            statement.executeUpdate();
+        }
+        try (var statement = connection.prepareStatement("SELECT id FROM articles WHERE title = ?")) {
+            statement.setString(1, title);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                articleId = resultSet.getLong(1);
+            }
+        }
+
+        try (var statement = connection.prepareStatement("""
+                INSERT INTO article_comments (user_id, article_id, body, created_at)
+                WITH RECURSIVE seq (n) AS (
+                    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?
+                )
+                SELECT u.id, ?, CONCAT('ベンチマーク用のコメント ', seq.n), NOW() - INTERVAL seq.n SECOND
+                FROM seq
+                JOIN users u ON u.username = 'benchmark_user'
+                WHERE NOT EXISTS (SELECT 1 FROM article_comments WHERE article_id = ?)
+                """)) {
+            statement.setInt(1, COMMENTS);
+            statement.setLong(2, articleId);
+            statement.setLong(3, articleId);
+            statement.executeUpdate();
+        }
+    }
+}
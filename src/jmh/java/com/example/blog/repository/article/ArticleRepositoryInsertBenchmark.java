@@ -0,0 +1,109 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.BenchmarkSqlSessionFactory;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 記事の作成で、insert した後に selectById で取得し直す変更前の実装と、insert だけの実装のスループットを比較する。
+ * 作成した記事はトライアルの終了時に削除する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class ArticleRepositoryInsertBenchmark {
+
+    private static final String TITLE = "benchmark_insert_article";
+    private static final String BODY = "本文のダミーテキストです".repeat(100);
+
+    private SqlSessionFactory sqlSessionFactory;
+    private UserEntity author;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private SqlSession sqlSession;
+        private ArticleRepository articleRepository;
+
+        @Setup
+        public void setup(ArticleRepositoryInsertBenchmark benchmark) {
+            // SqlSession はスレッドセーフではないため、スレッドごとに開く
+            sqlSession = benchmark.sqlSessionFactory.openSession(true);
+            articleRepository = sqlSession.getMapper(ArticleRepository.class);
+        }
+
+        @TearDown
+        public void tearDown() {
+            sqlSession.close();
+        }
+    }
+
+    @Setup
+    public void setup() throws SQLException {
+        sqlSessionFactory = BenchmarkSqlSessionFactory.create(ArticleRepository.class);
+        try (var sqlSession = sqlSessionFactory.openSession(true);
+             var statement = sqlSession.getConnection().createStatement()) {
+            statement.execute("""
+                    INSERT INTO users (username, password, enabled)
+                    SELECT 'benchmark_user', 'benchmark_password', true
+                    WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'benchmark_user')
+                    """);
+            try (var resultSet = statement.executeQuery("SELECT id FROM users WHERE username = 'benchmark_user'")) {
+                resultSet.next();
+                author = new UserEntity(resultSet.getLong(1), "benchmark_user", null, true);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (var sqlSession = sqlSessionFactory.openSession(true);
+             var statement = sqlSession.getConnection().prepareStatement("DELETE FROM articles WHERE title = ?")) {
+            statement.setString(1, TITLE);
+            statement.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public ArticleEntity insertAndSelect(ThreadState state) {
+        // 変更前の ArticleService.create の実装
+        var entity = newEntity();
+        state.articleRepository.insert(entity);
+        return state.articleRepository.selectById(entity.getId())
+                .orElseThrow(() -> new IllegalStateException("never reached"));
+    }
+
+    @Benchmark
+    public ArticleEntity insertOnly(ThreadState state) {
+        var entity = newEntity();
+        state.articleRepository.insert(entity);
+        return entity;
+    }
+
+    private ArticleEntity newEntity() {
+        var timestamp = OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return new ArticleEntity(
+                null,
+                TITLE,
+                BODY,
+                BODY.substring(0, 100),
+                author,
+                timestamp,
+                timestamp,
+                0,
+                null
+        );
+    }
+}
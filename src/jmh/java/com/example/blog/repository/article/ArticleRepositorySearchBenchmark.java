@@ -0,0 +1,129 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.BenchmarkSqlSessionFactory;
+import com.example.blog.service.article.ArticleEntity;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100万件以上の記事に対する全文検索を、LIKE による部分一致検索と比較する。
+ * articles テーブルの件数が足りないときは、セットアップ時にダミーの記事を追加する（初回は数分かかる）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArticleRepositorySearchBenchmark {
+
+    private static final int MIN_ROWS = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 100_000;
+    private static final int LIMIT = 20;
+
+    @Param({"データベース", "パフォーマンス"})
+    private String keyword;
+
+    private SqlSession sqlSession;
+    private ArticleRepository articleRepository;
+
+    @Setup
+    public void setup() throws SQLException {
+        sqlSession = BenchmarkSqlSessionFactory.create(ArticleRepository.class).openSession(true);
+        articleRepository = sqlSession.getMapper(ArticleRepository.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Benchmark
+    public List<ArticleEntity> fulltext() {
+        return articleRepository.search(keyword, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> like() throws SQLException {
+        // FULLTEXT インデックスを使わない場合の比較対象
+        var sql = """
+                SELECT a.id
+                FROM articles a
+                WHERE a.title LIKE ? OR a.body LIKE ?
+                ORDER BY a.created_at DESC, a.id DESC
+                LIMIT ?
+                """;
+        try (var statement = sqlSession.getConnection().prepareStatement(sql)) {
+            statement.setString(1, "%" + keyword + "%");
+            statement.setString(2, "%" + keyword + "%");
+            statement.setInt(3, LIMIT);
+            try (var resultSet = statement.executeQuery()) {
+                var ids = new ArrayList<Long>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+                return ids;
+            }
+        }
+    }
+
+    private void seed() throws SQLException {
+        var connection = sqlSession.getConnection();
+        try (var statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = " + INSERT_BATCH_SIZE);
+            statement.execute("""
+                    INSERT INTO users (username, password, enabled)
+                    SELECT 'benchmark_user', 'benchmark_password', true
+                    WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'benchmark_user')
+                    """);
+        }
+
+        while (true) {
+            try (var statement = connection.createStatement();
+                 var resultSet = statement.executeQuery("SELECT COUNT(*) FROM articles")) {
+                resultSet.next();
+                if (resultSet.getLong(1) >= MIN_ROWS) {
+                    return;
+                }
+            }
+            // 単語の組み合わせを変えて、キーワードごとにヒット件数がばらつくようにする
+            var sql = """
+                    INSERT INTO articles (user_id, title, body, excerpt, created_at, updated_at)
+                    WITH RECURSIVE seq (n) AS (
+                        SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?
+                    )
+                    SELECT
+                        (SELECT id FROM users WHERE username = 'benchmark_user')
+                      , t.title
+                      , t.body
+                      , LEFT(t.body, 100)
+                      , NOW() - INTERVAL t.n SECOND
+                      , NOW() - INTERVAL t.n SECOND
+                    FROM (
+                        SELECT
+                            n
+                          , CONCAT(ELT(1 + n % 5, 'Spring', 'MySQL', 'Redis', 'Java', 'Gradle'), 'の記事 ', n) AS title
+                          , CONCAT_WS('。',
+                                ELT(1 + n % 7, 'データベースの設計', 'テストの書き方', 'キャッシュの使い方', 'ログの出し方',
+                                    'セキュリティ対策', 'API の設計', 'デプロイの自動化'),
+                                ELT(1 + n % 11, 'パフォーマンスを改善した', '障害を調査した', '設定を見直した', '本番環境で試した',
+                                    'ローカル環境で試した', 'ドキュメントを読んだ', '勉強会で発表した', 'レビューで指摘された',
+                                    '計測してみた', 'ライブラリを更新した', '設計を見直した'),
+                                REPEAT('本文のダミーテキストです', 1 + n % 10)
+                            ) AS body
+                        FROM seq
+                    ) t
+                    """;
+            try (var statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, INSERT_BATCH_SIZE);
+                statement.executeUpdate();
+            }
+        }
+    }
+}
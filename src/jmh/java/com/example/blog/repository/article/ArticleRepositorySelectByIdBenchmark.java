@@ -0,0 +1,51 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.BenchmarkSqlSessionFactory;
+import com.example.blog.service.article.ArticleEntity;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArticleRepositorySelectByIdBenchmark {
+
+    private SqlSession sqlSession;
+    private ArticleRepository articleRepository;
+    private long articleId;
+
+    @Setup
+    public void setup() {
+        sqlSession = BenchmarkSqlSessionFactory.create(ArticleRepository.class).openSession(true);
+        articleRepository = sqlSession.getMapper(ArticleRepository.class);
+        articleId = articleRepository.selectPage(null, 1)
+                .stream()
+                .findFirst()
+                .map(ArticleEntity::getId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "articles table is empty. run `./gradlew flywayMigrate` to insert sample data."
+                ));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sqlSession.close();
+    }
+
+    @Benchmark
+    public Optional<ArticleEntity> dynamicSqlAndList() {
+        // 変更前の selectById の実装
+        return articleRepository.__select(articleId).stream().findFirst();
+    }
+
+    @Benchmark
+    public Optional<ArticleEntity> primaryKeyStatement() {
+        return articleRepository.selectById(articleId);
+    }
+}
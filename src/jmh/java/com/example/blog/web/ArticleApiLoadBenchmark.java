@@ -0,0 +1,75 @@
+package com.example.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 起動済みのアプリケーションに HTTP リクエストを送り、レイテンシの分布（p99 など）を計測する。
+ * スレッド数（-PjmhThreads）を増やしていき、エラーやタイムアウトが出ずに p99 が許容範囲に収まる最大の同時実行数を比較する。
+ * 接続先は BENCHMARK_BASE_URL 環境変数で変更できる。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(200)
+@Fork(1)
+public class ArticleApiLoadBenchmark {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private HttpClient httpClient;
+    private HttpRequest listArticlesRequest;
+    private HttpRequest getArticleRequest;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        var baseUrl = System.getenv().getOrDefault("BENCHMARK_BASE_URL", "http://localhost:8080");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        listArticlesRequest = request(baseUrl + "/articles?limit=20");
+
+        var articleList = new ObjectMapper().readTree(send(request(baseUrl + "/articles?limit=1")));
+        if (articleList.path("items").isEmpty()) {
+            throw new IllegalStateException("articles table is empty. run `./gradlew flywayMigrate` to insert sample data.");
+        }
+        var articleId = articleList.path("items").get(0).path("id").asLong();
+        getArticleRequest = request(baseUrl + "/articles/" + articleId);
+    }
+
+    @Benchmark
+    public String listArticles() throws IOException, InterruptedException {
+        return send(listArticlesRequest);
+    }
+
+    @Benchmark
+    public String getArticle() throws IOException, InterruptedException {
+        return send(getArticleRequest);
+    }
+
+    private static HttpRequest request(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // エラーを成功として数えないように、200 以外は例外にして計測を失敗させる
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status %d: %s".formatted(response.statusCode(), request.uri()));
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 起動済みのアプリケーションに、ログインしたユーザーでコメント作成のリクエストを送り、レイテンシの分布を計測する。
+ * 1リクエストあたりの SQL の件数は、計測前後の MySQL の Com_select / Com_insert / Com_update の差分から確認できる。
+ * 接続先は BENCHMARK_BASE_URL 環境変数で変更できる。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(50)
+@Fork(1)
+public class ArticleCommentApiLoadBenchmark {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final String PASSWORD = "benchmark_password";
+    // 同じ記事の行ロックで待ち合わせないように、複数の記事にコメントを分散させる
+    private static final int ARTICLES = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient httpClient;
+    private CookieManager cookieManager;
+    private String baseUrl;
+    private long[] articleIds;
+    private String csrfToken;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        baseUrl = System.getenv().getOrDefault("BENCHMARK_BASE_URL", "http://localhost:8080");
+        cookieManager = new CookieManager();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .cookieHandler(cookieManager)
+                .build();
+
+        var articleList = objectMapper.readTree(send(get("/articles?limit=" + ARTICLES), 200));
+        if (articleList.path("items").isEmpty()) {
+            throw new IllegalStateException("articles table is empty. run `./gradlew flywayMigrate` to insert sample data.");
+        }
+        var items = articleList.path("items");
+        articleIds = new long[items.size()];
+        for (var i = 0; i < items.size(); i++) {
+            articleIds[i] = items.get(i).path("id").asLong();
+        }
+
+        var username = "bench" + System.currentTimeMillis();
+        var credentials = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", PASSWORD)
+                .toString();
+        send(post("/users", credentials, fetchCsrfToken()), 201);
+        send(post("/login", credentials, fetchCsrfToken()), 200);
+        // ログインするとセッションIDと CSRF トークンが変わるため、取得し直す
+        csrfToken = fetchCsrfToken();
+    }
+
+    @Benchmark
+    public String createComment() throws IOException, InterruptedException {
+        var articleId = articleIds[ThreadLocalRandom.current().nextInt(articleIds.length)];
+        var body = """
+                {"body": "ベンチマーク用のコメントです"}
+                """;
+        return send(post("/articles/" + articleId + "/comments", body, csrfToken), 201);
+    }
+
+    private String fetchCsrfToken() throws IOException, InterruptedException {
+        send(get("/csrf-cookie"), 204);
+        return cookieManager.getCookieStore()
+                .getCookies()
+                .stream()
+                .filter(cookie -> cookie.getName().equals("XSRF-TOKEN"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("XSRF-TOKEN cookie is not found"))
+                .getValue();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("X-XSRF-TOKEN", token)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private String send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        // エラーを成功として数えないように、期待したステータス以外は例外にして計測を失敗させる
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Unexpected status %d: %s".formatted(response.statusCode(), request.uri()));
+        }
+        return response.body();
+    }
+}
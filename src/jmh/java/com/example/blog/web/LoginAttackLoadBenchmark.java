@@ -0,0 +1,125 @@
+package com.example.blog.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 起動済みのアプリケーションの /login に、誤ったパスワードでのログインを大量に送り続ける（クレデンシャルスタッフィングを想定）。
+ * イテレーションごとに、レスポンスのステータスの内訳と、ベンチマークを実行しているマシンの CPU 使用率の平均を標準出力に表示する。
+ * CPU 使用率はマシン全体の値のため、アプリケーションを同じマシンで起動して計測する。
+ * ログインの試行回数の制限を実質的に無効にしたとき（LOGIN_THROTTLE_IP_LIMIT と LOGIN_THROTTLE_USERNAME_LIMIT に大きな値を指定）と比較する。
+ * 接続先は BENCHMARK_BASE_URL 環境変数で変更できる。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(50)
+@Fork(1)
+public class LoginAttackLoadBenchmark {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    // 攻撃者が試すユーザー名の数。サンプルデータのユーザー（user1 など）も含める
+    private static final int USERNAMES = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentHashMap<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final DoubleAdder cpuLoadSum = new DoubleAdder();
+    private final LongAdder cpuLoadSamples = new LongAdder();
+    private HttpClient httpClient;
+    private CookieManager cookieManager;
+    private String baseUrl;
+    private String csrfToken;
+    private ScheduledExecutorService cpuSampler;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        baseUrl = System.getenv().getOrDefault("BENCHMARK_BASE_URL", "http://localhost:8080");
+        cookieManager = new CookieManager();
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .cookieHandler(cookieManager)
+                .build();
+
+        var response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/csrf-cookie")).timeout(REQUEST_TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.discarding()
+        );
+        if (response.statusCode() != 204) {
+            throw new IllegalStateException("Unexpected status %d: /csrf-cookie".formatted(response.statusCode()));
+        }
+        csrfToken = cookieManager.getCookieStore()
+                .getCookies()
+                .stream()
+                .filter(cookie -> cookie.getName().equals("XSRF-TOKEN"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("XSRF-TOKEN cookie is not found"))
+                .getValue();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuSampler() {
+        statusCounts.clear();
+        cpuLoadSum.reset();
+        cpuLoadSamples.reset();
+        var osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        cpuSampler = Executors.newSingleThreadScheduledExecutor();
+        cpuSampler.scheduleAtFixedRate(() -> {
+            var load = osBean.getCpuLoad();
+            if (load >= 0) {
+                cpuLoadSum.add(load);
+                cpuLoadSamples.increment();
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printResult() {
+        cpuSampler.shutdownNow();
+        var samples = cpuLoadSamples.sum();
+        System.out.printf(
+                "%nstatus counts: %s, average cpu load: %.1f%%%n",
+                statusCounts,
+                samples == 0 ? 0 : cpuLoadSum.sum() / samples * 100
+        );
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        var random = ThreadLocalRandom.current();
+        var credentials = objectMapper.createObjectNode()
+                .put("username", "user" + random.nextInt(USERNAMES))
+                .put("password", "wrong_password_" + random.nextInt())
+                .toString();
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("X-XSRF-TOKEN", csrfToken)
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build();
+        var status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        // 401（照合で失敗）、429（試行回数の制限で拒否）、503（照合の待ち行列があふれた）以外は、計測を失敗させる
+        if (status != 401 && status != 429 && status != 503) {
+            throw new IllegalStateException("Unexpected status %d: /login".formatted(status));
+        }
+        statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        return status;
+    }
+}
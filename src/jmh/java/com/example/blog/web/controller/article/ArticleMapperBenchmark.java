@@ -0,0 +1,91 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.model.ArticleCommentDTO;
+import com.example.blog.model.ArticleListItemDTO;
+import com.example.blog.model.UserDTO;
+import com.example.blog.service.article.ArticleCommentEntity;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一覧のマッピングにかかる時間を BeanUtils.copyProperties を使った実装と比較する。
+ * 1件あたりのアロケーションは、gc プロファイラーの gc.alloc.rate.norm を size で割って求める。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<ArticleEntity> articles;
+    private List<ArticleCommentEntity> comments;
+
+    @Setup
+    public void setup() {
+        var now = OffsetDateTime.now();
+        articles = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            var author = new UserEntity(i, "username" + i, null, true, "users/%d/profile-image".formatted(i));
+            var article = new ArticleEntity(i, "title" + i, null, "excerpt" + i, author, now, now, 0, null);
+            articles.add(article);
+            comments.add(new ArticleCommentEntity(i, "comment" + i, article, author, now));
+        }
+    }
+
+    @Benchmark
+    public List<ArticleListItemDTO> articleListItem_beanUtils() {
+        return articles.stream().map(ArticleMapperBenchmark::beanUtilsToArticleListItemDTO).toList();
+    }
+
+    @Benchmark
+    public List<ArticleListItemDTO> articleListItem_handWritten() {
+        return articles.stream().map(ArticleMapper::toArticleListItemDTO).toList();
+    }
+
+    @Benchmark
+    public List<ArticleCommentDTO> articleComment_beanUtils() {
+        return comments.stream().map(ArticleMapperBenchmark::beanUtilsToArticleCommentDTO).toList();
+    }
+
+    @Benchmark
+    public List<ArticleCommentDTO> articleComment_handWritten() {
+        return comments.stream().map(ArticleCommentMapper::toDTO).toList();
+    }
+
+    // 変更前の ArticleMapper#toArticleListItemDTO の実装
+    private static ArticleListItemDTO beanUtilsToArticleListItemDTO(ArticleEntity entity) {
+        var userDto = new UserDTO();
+        BeanUtils.copyProperties(entity.getAuthor(), userDto);
+
+        var itemDto = new ArticleListItemDTO();
+        BeanUtils.copyProperties(entity, itemDto);
+        itemDto.setAuthor(userDto);
+
+        return itemDto;
+    }
+
+    // 変更前の ArticleCommentMapper#toDTO の実装
+    private static ArticleCommentDTO beanUtilsToArticleCommentDTO(ArticleCommentEntity entity) {
+        var commentDTO = new ArticleCommentDTO();
+        BeanUtils.copyProperties(entity, commentDTO);
+
+        var userDTO = new UserDTO();
+        BeanUtils.copyProperties(entity.getAuthor(), userDTO);
+        commentDTO.setAuthor(userDTO);
+
+        return commentDTO;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.blog.web.json;
+
+import com.example.blog.config.ObjectMapperConfig;
+import com.example.blog.config.SerializationProperties;
+import com.example.blog.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * レスポンス DTO のシリアライズを、デフォルトの ObjectMapper と serialization.high-performance=true の構成で比較する。
+ * default は HTTP メッセージコンバーターと同じく書き込みのたびに ObjectWriter を生成し、
+ * highPerformance はクラスごとにキャッシュした ObjectWriter を使う。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"article", "articleList", "articleCommentList"})
+    private String payload;
+
+    private Object dto;
+    private ObjectMapper defaultObjectMapper;
+    private ObjectWriter cachedWriter;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setup() {
+        var config = new ObjectMapperConfig();
+        defaultObjectMapper = config.objectMapper(new SerializationProperties(false));
+        var highPerformanceObjectMapper = config.objectMapper(new SerializationProperties(true));
+
+        dto = switch (payload) {
+            case "article" -> article(1);
+            case "articleList" -> articleList(20);
+            case "articleCommentList" -> articleCommentList(20);
+            default -> throw new IllegalArgumentException(payload);
+        };
+        cachedWriter = highPerformanceObjectMapper.writerFor(dto.getClass());
+    }
+
+    @Benchmark
+    public void defaultObjectMapper() throws IOException {
+        defaultObjectMapper.writerFor(dto.getClass()).writeValue(out, dto);
+    }
+
+    @Benchmark
+    public void highPerformance() throws IOException {
+        cachedWriter.writeValue(out, dto);
+    }
+
+    private static OffsetDateTime dateTime(long i) {
+        return OffsetDateTime.of(2020, 1, 1, 10, 20, 30, 0, ZoneOffset.ofHours(9)).plusMinutes(i);
+    }
+
+    private static UserDTO user(long i) {
+        return new UserDTO().id(i).username("username" + i).imagePath("users/%d/profile-image".formatted(i));
+    }
+
+    private static ArticleDTO article(long i) {
+        return new ArticleDTO()
+                .id(i)
+                .title("title" + i)
+                .body("body".repeat(100))
+                .author(user(i))
+                .createdAt(dateTime(i))
+                .updatedAt(dateTime(i));
+    }
+
+    private static ArticleListDTO articleList(int size) {
+        var items = new ArrayList<ArticleListItemDTO>(size);
+        for (long i = 1; i <= size; i++) {
+            items.add(new ArticleListItemDTO()
+                    .id(i)
+                    .title("title" + i)
+                    .excerpt("excerpt".repeat(10))
+                    .author(user(i))
+                    .createdAt(dateTime(i))
+                    .updatedAt(dateTime(i)));
+        }
+        return new ArticleListDTO().items(items).nextCursor("MjAyMC0wMS0wMVQxMDoyMDozMCswOTowMHwxMjM");
+    }
+
+    private static ArticleCommentListDTO articleCommentList(int size) {
+        var comments = new ArrayList<ArticleCommentDTO>(size);
+        for (long i = 1; i <= size; i++) {
+            comments.add(new ArticleCommentDTO()
+                    .id(i)
+                    .body("comment" + i)
+                    .author(user(i))
+                    .createdAt(dateTime(i)));
+        }
+        return new ArticleCommentListDTO().comments(comments);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.blog.config;
+
+import com.example.blog.repository.article.ArticleCacheRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class ArticleCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer articleCacheMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            ArticleCacheRepository articleCacheRepository,
+            ArticleCacheProperties articleCacheProperties
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> {
+                    var articleId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+                    articleCacheRepository.evictLocal(articleId);
+                },
+                new ChannelTopic(articleCacheProperties.invalidationChannel())
+        );
+        return container;
+    }
+}
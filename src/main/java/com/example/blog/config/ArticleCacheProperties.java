@@ -0,0 +1,14 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("cache.article")
+public record ArticleCacheProperties(
+        long localMaximumSize,
+        Duration localTtl,
+        Duration redisTtl,
+        String invalidationChannel
+) {
+}
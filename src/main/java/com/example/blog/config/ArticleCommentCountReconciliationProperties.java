@@ -0,0 +1,14 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("reconciliation.article-comment-count")
+public record ArticleCommentCountReconciliationProperties(
+        String cron,
+        int batchSize,
+        String lockKey,
+        Duration lockTtl
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.blog.config;
+
+import com.example.blog.repository.article.ArticleTitleIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class ArticleSuggestConfig {
+
+    @Bean
+    public RedisMessageListenerContainer articleTitleIndexMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            ArticleTitleIndex articleTitleIndex,
+            ArticleSuggestProperties articleSuggestProperties
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> articleTitleIndex.handleMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)
+                ),
+                new ChannelTopic(articleSuggestProperties.invalidationChannel())
+        );
+        return container;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("suggest.article")
+public record ArticleSuggestProperties(
+        int maxEntries,
+        String invalidationChannel
+) {
+}
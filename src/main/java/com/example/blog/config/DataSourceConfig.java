@@ -0,0 +1,53 @@
+package com.example.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            ReplicaDataSourceProperties replicaDataSourceProperties
+    ) {
+        var primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        var urls = replicaDataSourceProperties.urls() == null ? List.<String>of() : replicaDataSourceProperties.urls();
+        var replicas = urls.stream()
+                .filter(url -> !url.isBlank())
+                .map(url -> dataSourceProperties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(url)
+                        .build())
+                .toList();
+        for (var i = 0; i < replicas.size(); i++) {
+            replicas.get(i).setPoolName("replica-" + i);
+            replicas.get(i).setReadOnly(true);
+        }
+
+        return new ReplicaRoutingDataSource(
+                primary,
+                replicas,
+                replicaDataSourceProperties.readYourWritesWindow(),
+                System::currentTimeMillis
+        );
+    }
+
+    // トランザクションの readOnly が確定してからルーティングされるように、コネクションの取得を遅らせる
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
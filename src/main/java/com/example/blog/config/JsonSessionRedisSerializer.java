@@ -0,0 +1,35 @@
+package com.example.blog.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * セッションの属性を JSON で書き込み、JSON と JDK シリアライズのどちらで保存された値も読み込めるシリアライザー。
+ * 切り替え前に JDK シリアライズで保存されたセッションを、期限切れになるまで引き続き使えるようにする。
+ */
+public class JsonSessionRedisSerializer implements RedisSerializer<Object> {
+
+    // ObjectOutputStream が先頭に書き込むマジックナンバー（0xACED）
+    private static final byte JDK_STREAM_MAGIC_0 = (byte) 0xAC;
+    private static final byte JDK_STREAM_MAGIC_1 = (byte) 0xED;
+
+    private final RedisSerializer<Object> json;
+    private final RedisSerializer<Object> jdk = RedisSerializer.java();
+
+    public JsonSessionRedisSerializer(RedisSerializer<Object> json) {
+        this.json = json;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return json.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null && bytes.length >= 2 && bytes[0] == JDK_STREAM_MAGIC_0 && bytes[1] == JDK_STREAM_MAGIC_1) {
+            return jdk.deserialize(bytes);
+        }
+        return json.deserialize(bytes);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("login-throttle")
+public record LoginThrottleProperties(
+        String keyPrefix,
+        int usernameLimit,
+        Duration usernameWindow,
+        int ipLimit,
+        Duration ipWindow
+) {
+}
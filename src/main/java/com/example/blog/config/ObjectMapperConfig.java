@@ -1,19 +1,42 @@
 package com.example.blog.config;
 
+import com.example.blog.web.json.CachedObjectWriterHttpMessageConverter;
+import com.example.blog.web.json.IsoOffsetDateTimeSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.OffsetDateTime;
 
 @Configuration
 public class ObjectMapperConfig {
 
     @Bean
-    public ObjectMapper objectMapper() {
-        return new ObjectMapper()
+    public ObjectMapper objectMapper(SerializationProperties serializationProperties) {
+        var objectMapper = new ObjectMapper()
                 .registerModule(new JavaTimeModule())
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
                 ;
+        if (serializationProperties.highPerformance()) {
+            objectMapper
+                    .registerModule(new BlackbirdModule())
+                    // JavaTimeModule より後に登録して OffsetDateTime のシリアライザーを上書きする
+                    .registerModule(new SimpleModule()
+                            .addSerializer(OffsetDateTime.class, new IsoOffsetDateTimeSerializer())
+                    );
+        }
+        return objectMapper;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "serialization.high-performance", havingValue = "true")
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedObjectWriterHttpMessageConverter(objectMapper);
     }
 }
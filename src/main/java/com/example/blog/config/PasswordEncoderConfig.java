@@ -1,16 +1,50 @@
 package com.example.blog.config;
 
+import com.example.blog.security.BoundedPasswordEncoder;
+import com.example.blog.security.CalibratedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class PasswordEncoderConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            PasswordEncoderProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        // Executor を Bean にすると Spring Boot の applicationTaskExecutor が作られなくなるため、ここで生成する
+        var executor = new ThreadPoolExecutor(
+                properties.poolSize(),
+                properties.poolSize(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("password-encoder-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        // 待ち行列の長さは executor.queued{name=password.encoder} で確認できる
+        new ExecutorServiceMetrics(executor, "password.encoder", Tags.empty()).bindTo(meterRegistry);
+        var calibrated = CalibratedBCryptPasswordEncoder.calibrate(
+                properties.targetDuration(),
+                properties.minStrength(),
+                properties.maxStrength(),
+                properties.downgradeEnabled()
+        );
+        Gauge.builder("password.encoder.strength", calibrated, CalibratedBCryptPasswordEncoder::getStrength)
+                .description("BCrypt strength chosen at startup")
+                .register(meterRegistry);
+        return new BoundedPasswordEncoder(calibrated, executor, meterRegistry);
     }
 
 }
@@ -0,0 +1,16 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("password-encoder")
+public record PasswordEncoderProperties(
+        int poolSize,
+        int queueCapacity,
+        Duration targetDuration,
+        int minStrength,
+        int maxStrength,
+        boolean downgradeEnabled
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("datasource.replica")
+public record ReplicaDataSourceProperties(
+        List<String> urls,
+        Duration readYourWritesWindow
+) {
+}
@@ -0,0 +1,132 @@
+package com.example.blog.config;
+
+import jakarta.servlet.http.HttpSession;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 読み取り専用のトランザクションをレプリカに、それ以外をプライマリに振り分ける。
+ * <p>
+ * トランザクションの readOnly が確定してからコネクションを取得するように、
+ * LazyConnectionDataSourceProxy で包んで使うこと。
+ * 書き込みをコミットしたユーザーは、レプリカの遅延で自分の変更が見えなくなるのを避けるため、
+ * readYourWritesWindow の間は読み取り専用のトランザクションでもプライマリを使う。
+ * 共有キャッシュに載せる値のように、遅延した値を読んではいけない読み込みは {@link #onPrimary} で実行する。
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String LAST_WRITE_AT_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".LAST_WRITE_AT";
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA_PREFIX = "replica-";
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger replicaCounter = new AtomicInteger();
+    private final long readYourWritesWindowMillis;
+    private final LongSupplier currentTimeMillis;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<? extends DataSource> replicas,
+            Duration readYourWritesWindow,
+            LongSupplier currentTimeMillis
+    ) {
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        dataSources.add(primary);
+        for (var i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + i, replicas.get(i));
+            replicaKeys.add(REPLICA_PREFIX + i);
+            dataSources.add(replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                recordWriteAfterCommit();
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || FORCE_PRIMARY.get() != null || isWithinReadYourWritesWindow()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(replicaCounter.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * 読み取り専用のトランザクションの中でも、action の中で取得するコネクションはプライマリを使う。
+     * コネクションはトランザクションの最初のクエリで取得されるため、トランザクションで最初のクエリを action の中で実行すること。
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        var previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean isWithinReadYourWritesWindow() {
+        var session = currentSession();
+        if (session == null) {
+            return false;
+        }
+        return session.getAttribute(LAST_WRITE_AT_ATTRIBUTE) instanceof Long lastWriteAt
+                && currentTimeMillis.getAsLong() - lastWriteAt < readYourWritesWindowMillis;
+    }
+
+    private void recordWriteAfterCommit() {
+        var session = currentSession();
+        if (session == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                session.setAttribute(LAST_WRITE_AT_ATTRIBUTE, currentTimeMillis.getAsLong());
+            }
+        });
+    }
+
+    // セッションは Redis に保存されているため、どのアプリケーションサーバーにリクエストが届いても書き込み時刻を参照できる
+    private static HttpSession currentSession() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getSession(false);
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.blog.config;
 
+import com.example.blog.security.LoginThrottle;
 import com.example.blog.web.exception.CustomAccessDeniedHandler;
 import com.example.blog.web.filter.CsrfCookieFilter;
 import com.example.blog.web.filter.JsonUsernamePasswordAuthenticationFilter;
@@ -13,6 +14,7 @@ import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
@@ -25,6 +27,7 @@ import org.springframework.security.web.context.HttpSessionSecurityContextReposi
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 @Configuration
 @EnableWebSecurity
@@ -38,7 +41,8 @@ public class SecurityConfig {
             AuthenticationManager authenticationManager,
             ObjectMapper objectMapper,
             CustomAccessDeniedHandler accessDeniedHandler,
-            AuthenticationEntryPoint authenticationEntryPoint
+            AuthenticationEntryPoint authenticationEntryPoint,
+            LoginThrottle loginThrottle
     ) throws Exception {
         http
                 .csrf((csrf) -> csrf
@@ -51,14 +55,19 @@ public class SecurityConfig {
                                 securityContextRepository,
                                 sessionAuthenticationStrategy,
                                 authenticationManager,
-                                objectMapper
+                                objectMapper,
+                                loginThrottle
                         ),
                         UsernamePasswordAuthenticationFilter.class
                 )
                 .securityContext(context -> context.securityContextRepository(securityContextRepository))
+                // ログイン後のリダイレクトはしないため、認証されていないリクエストをセッションに保存しない
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
                 .authorizeHttpRequests((authorize) -> authorize
                         .requestMatchers("/csrf-cookie").permitAll()
                         .requestMatchers(HttpMethod.POST, "/users").permitAll()
+                        // ストリーミング中はレプリカの接続を使い続けるため、匿名のクライアントに接続プールを占有させない
+                        .requestMatchers(HttpMethod.GET, "/articles/stream").authenticated()
                         .requestMatchers(HttpMethod.GET, "/articles/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -77,11 +86,14 @@ public class SecurityConfig {
     @Bean
     public AuthenticationManager authenticationManager(
             PasswordEncoder passwordEncoder,
-            UserDetailsService userDetailsService
+            UserDetailsService userDetailsService,
+            UserDetailsPasswordService userDetailsPasswordService
     ) {
         var provider = new DaoAuthenticationProvider();
         provider.setPasswordEncoder(passwordEncoder);
         provider.setUserDetailsService(userDetailsService);
+        // PasswordEncoder#upgradeEncoding が true のとき、ログイン成功時にハッシュし直して保存する
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
 
         return new ProviderManager(provider);
     }
@@ -0,0 +1,9 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("serialization")
+public record SerializationProperties(
+        boolean highPerformance
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.blog.config;
+
+import com.example.blog.security.LoggedInUserJackson2Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Spring Session はこの名前の Bean を、Redis に保存するセッションの属性のシリアライザーとして使う。
+     * JDK シリアライズはクラスの記述子を含むため、ログイン中のユーザーのセキュリティコンテキストを JSON で保存して小さくする。
+     */
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        var objectMapper = new ObjectMapper()
+                .registerModules(SecurityJackson2Modules.getModules(getClass().getClassLoader()))
+                .registerModule(new LoggedInUserJackson2Module());
+        return new JsonSessionRedisSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+    }
+}
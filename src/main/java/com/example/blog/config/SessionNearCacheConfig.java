@@ -0,0 +1,72 @@
+package com.example.blog.config;
+
+import com.example.blog.repository.session.NearCacheSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.RedisSessionProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.data.redis.RedisSessionRepository;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@ConditionalOnProperty(name = "session.near-cache.enabled", havingValue = "true")
+public class SessionNearCacheConfig {
+
+    /**
+     * 自動構成の RedisSessionRepository を NearCacheSessionRepository で包む。
+     * SessionRepository の Bean を定義すると Spring Session の自動構成が無効になるため、Bean を置き換えずに包む。
+     */
+    @Bean
+    public static BeanPostProcessor nearCacheSessionRepositoryPostProcessor(
+            ObjectProvider<RedisSerializer<Object>> springSessionDefaultRedisSerializer,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<RedisSessionProperties> redisSessionProperties,
+            ObjectProvider<SessionNearCacheProperties> sessionNearCacheProperties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof RedisSessionRepository redisSessionRepository)) {
+                    return bean;
+                }
+                return new NearCacheSessionRepository(
+                        redisSessionRepository,
+                        springSessionDefaultRedisSerializer.getObject(),
+                        redisTemplate.getObject(),
+                        redisSessionProperties.getObject().getNamespace(),
+                        sessionNearCacheProperties.getObject(),
+                        meterRegistry.getObject()
+                );
+            }
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer sessionNearCacheMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            SessionRepository<?> sessionRepository,
+            SessionNearCacheProperties sessionNearCacheProperties
+    ) {
+        var nearCacheSessionRepository = (NearCacheSessionRepository) sessionRepository;
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> nearCacheSessionRepository.handleInvalidation(
+                        new String(message.getBody(), StandardCharsets.UTF_8)
+                ),
+                new ChannelTopic(sessionNearCacheProperties.invalidationChannel())
+        );
+        return container;
+    }
+}
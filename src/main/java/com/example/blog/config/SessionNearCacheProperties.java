@@ -0,0 +1,15 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("session.near-cache")
+public record SessionNearCacheProperties(
+        boolean enabled,
+        long maximumSize,
+        Duration ttl,
+        Duration existenceCheckInterval,
+        String invalidationChannel
+) {
+}
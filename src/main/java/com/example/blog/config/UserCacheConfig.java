@@ -0,0 +1,30 @@
+package com.example.blog.config;
+
+import com.example.blog.repository.user.UserCacheRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userCacheMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            UserCacheRepository userCacheRepository,
+            UserCacheProperties userCacheProperties
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) ->
+                        userCacheRepository.handleInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(userCacheProperties.invalidationChannel())
+        );
+        return container;
+    }
+}
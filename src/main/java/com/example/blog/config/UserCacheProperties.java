@@ -0,0 +1,13 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("cache.user")
+public record UserCacheProperties(
+        long localMaximumSize,
+        Duration localTtl,
+        String invalidationChannel
+) {
+}
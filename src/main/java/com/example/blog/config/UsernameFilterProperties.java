@@ -0,0 +1,11 @@
+package com.example.blog.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("filter.username")
+public record UsernameFilterProperties(
+        String key,
+        long expectedInsertions,
+        double falsePositiveProbability
+) {
+}
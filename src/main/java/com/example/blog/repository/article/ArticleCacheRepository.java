@@ -0,0 +1,162 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.config.ArticleCacheProperties;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+@Component
+@Slf4j
+public class ArticleCacheRepository {
+
+    private static final String KEY_PREFIX = "article:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ArticleCacheProperties properties;
+    private final Cache<Long, ArticleEntity> localCache;
+    private final Counter redisHitCounter;
+    private final Counter redisMissCounter;
+
+    public ArticleCacheRepository(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            ArticleCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        // createdAt などのタイムゾーンを UTC に変換せず、キャッシュした値のまま復元する
+        this.objectMapper = objectMapper.copy()
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        this.properties = properties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.localMaximumSize())
+                .expireAfterWrite(properties.localTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "article.local");
+        this.redisHitCounter = Counter.builder("article.cache.redis.gets")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMissCounter = Counter.builder("article.cache.redis.gets")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<ArticleEntity> findById(long articleId, LongFunction<Optional<ArticleEntity>> loader) {
+        var local = localCache.getIfPresent(articleId);
+        if (local != null) {
+            return Optional.of(copyOf(local));
+        }
+
+        var remote = getFromRedis(articleId);
+        if (remote.isPresent()) {
+            redisHitCounter.increment();
+            localCache.put(articleId, remote.get());
+            return remote.map(ArticleCacheRepository::copyOf);
+        }
+        redisMissCounter.increment();
+
+        var loaded = loader.apply(articleId);
+        loaded.ifPresent(entity -> {
+            var cached = copyOf(entity);
+            putToRedis(cached);
+            localCache.put(articleId, cached);
+        });
+        return loaded;
+    }
+
+    /**
+     * トランザクション中に呼ばれた場合は、完了後にもう一度削除する。
+     * コミット前に別のリクエストが古い値をキャッシュに載せてしまうのを防ぐため。
+     */
+    public void evict(long articleId) {
+        evictAll(articleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAll(articleId);
+                }
+            });
+        }
+    }
+
+    public void evictLocal(long articleId) {
+        localCache.invalidate(articleId);
+    }
+
+    private void evictAll(long articleId) {
+        evictLocal(articleId);
+        try {
+            redisTemplate.delete(KEY_PREFIX + articleId);
+            // 他のノードのローカルキャッシュを削除する
+            redisTemplate.convertAndSend(properties.invalidationChannel(), String.valueOf(articleId));
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict article [{}] from redis", articleId, e);
+        }
+    }
+
+    private Optional<ArticleEntity> getFromRedis(long articleId) {
+        try {
+            var json = redisTemplate.opsForValue().get(KEY_PREFIX + articleId);
+            if (json == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(json, ArticleEntity.class));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to get article [{}] from redis", articleId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void putToRedis(ArticleEntity entity) {
+        try {
+            redisTemplate.opsForValue().set(
+                    KEY_PREFIX + entity.getId(),
+                    objectMapper.writeValueAsString(entity),
+                    properties.redisTtl()
+            );
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to put article [{}] to redis", entity.getId(), e);
+        }
+    }
+
+    // 呼び出し元でエンティティが変更されてもキャッシュに影響しないようにコピーする
+    private static ArticleEntity copyOf(ArticleEntity entity) {
+        var author = entity.getAuthor();
+        return new ArticleEntity(
+                entity.getId(),
+                entity.getTitle(),
+                entity.getBody(),
+                entity.getExcerpt(),
+                author == null ? null : new UserEntity(
+                        author.getId(),
+                        author.getUsername(),
+                        author.getPassword(),
+                        author.isEnabled(),
+                        author.getImagePath()
+                ),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getCommentCount(),
+                entity.getLastCommentedAt()
+        );
+    }
+}
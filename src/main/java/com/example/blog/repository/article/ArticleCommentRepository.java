@@ -1,8 +1,10 @@
 package com.example.blog.repository.article;
 
 import com.example.blog.service.article.ArticleCommentEntity;
+import com.example.blog.service.article.KeysetCursor;
 import org.apache.ibatis.annotations.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +12,7 @@ import java.util.Optional;
 public interface ArticleCommentRepository {
 
     String ARTICLE_COMMENT_RESULT_MAP_ID = "ARTICLE_COMMENT_RESULT_MAP_ID";
+    String ARTICLE_COMMENT_LIST_RESULT_MAP_ID = "ARTICLE_COMMENT_LIST_RESULT_MAP_ID";
 
     @Insert("""
             INSERT INTO article_comments(body, user_id, article_id, created_at)
@@ -46,34 +49,96 @@ public interface ArticleCommentRepository {
     @ResultMap(ARTICLE_COMMENT_RESULT_MAP_ID)
     Optional<ArticleCommentEntity> selectById(long articleCommentId);
 
+    // 一覧では記事の情報を使わないため、articles を JOIN せずにコメントとコメント投稿者の列だけを取得する
     @Select("""
+            <script>
             SELECT
                 ac.id         AS article_comment__id
               , ac.body       AS article_comment__body
               , ac.created_at AS article_comment__created_at
-            
-              , a.id          AS article__id
-              , a.title       AS article__title
-              , a.body        AS article__body
-              , a.created_at  AS article__created_at
-              , a.updated_at  AS article__updated_at
-            
-              , aa.id         AS article_author__id
-              , aa.username   AS article_author__username
-              , aa.enabled    AS article_author__enabled
+              , ac.article_id AS article__id
             
               , ca.id         AS comment_author__id
               , ca.username   AS comment_author__username
               , ca.enabled    AS comment_author__enabled
             FROM article_comments ac
-            JOIN articles a ON ac.article_id = a.id
-            JOIN users aa ON a.user_id = aa.id
             JOIN users ca ON ac.user_id = ca.id
-            WHERE a.id = #{articleId}
+            WHERE ac.article_id = #{articleId}
+            <if test="cursorCreatedAt != null and cursorId != null">
+              AND (
+                ac.created_at &gt; #{cursorCreatedAt}
+                OR (ac.created_at = #{cursorCreatedAt} AND ac.id &gt; #{cursorId})
+              )
+            </if>
             ORDER BY ac.created_at, ac.id
+            LIMIT #{limit}
+            </script>
+            """)
+    @ResultMap(ARTICLE_COMMENT_LIST_RESULT_MAP_ID)
+    List<ArticleCommentEntity> __selectPageByArticleId(
+            @Param("articleId") long articleId,
+            @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
+
+    // idx_article_comments_article_id_created_at_id の順に読むため、ソートせずに LIMIT 件で打ち切れる
+    default List<ArticleCommentEntity> selectPageByArticleId(long articleId, KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return __selectPageByArticleId(articleId, null, null, limit);
+        }
+        return __selectPageByArticleId(articleId, cursor.createdAt(), cursor.id(), limit);
+    }
+
+    // 記事ごとに古い順の連番を振り、先頭の limit 件だけを1回の SELECT で取得する
+    // 連番は idx_article_comments_article_id_created_at_id だけで振り、本文は残した行だけを主キーで読む
+    @Select("""
+            <script>
+            SELECT
+                ac.id         AS article_comment__id
+              , ac.body       AS article_comment__body
+              , ac.created_at AS article_comment__created_at
+              , ac.article_id AS article__id
+            
+              , ca.id         AS comment_author__id
+              , ca.username   AS comment_author__username
+              , ca.enabled    AS comment_author__enabled
+            FROM (
+                SELECT
+                    c.id
+                  , c.article_id
+                  , c.created_at
+                  , ROW_NUMBER() OVER (PARTITION BY c.article_id ORDER BY c.created_at, c.id) AS row_num
+                FROM article_comments c
+                WHERE c.article_id IN
+                <foreach item="articleId" collection="articleIds" open="(" separator="," close=")">
+                  #{articleId}
+                </foreach>
+            ) r
+            JOIN article_comments ac ON ac.id = r.id
+            JOIN users ca ON ac.user_id = ca.id
+            WHERE r.row_num &lt;= #{limit}
+            ORDER BY r.article_id, r.created_at, r.id
+            </script>
+            """)
+    @ResultMap(ARTICLE_COMMENT_LIST_RESULT_MAP_ID)
+    List<ArticleCommentEntity> selectByArticleIds(
+            @Param("articleIds") List<Long> articleIds,
+            @Param("limit") int limitPerArticle
+    );
+
+    // idx_article_comments_article_id_created_at_id を逆順に読み、ソートせずに先頭の1件で打ち切る
+    @Select("""
+            SELECT
+                ac.id         AS article_comment__id
+              , ac.created_at AS article_comment__created_at
+            FROM article_comments ac
+            WHERE ac.article_id = #{articleId}
+            ORDER BY ac.created_at DESC, ac.id DESC
+            LIMIT 1
             """)
     @ResultMap(ARTICLE_COMMENT_RESULT_MAP_ID)
-    List<ArticleCommentEntity> selectByArticleId(long articleId);
+    Optional<ArticleCommentEntity> selectLatestByArticleId(long articleId);
 
     @Select("SELECT '1'")
     @Results(id = ARTICLE_COMMENT_RESULT_MAP_ID, value = {
@@ -96,4 +161,18 @@ public interface ArticleCommentRepository {
             @Result(column = "comment_author__enabled", property = "author.enabled"),
     })
     ArticleCommentEntity __articleCommentResultMap();
+
+    @Select("SELECT '1'")
+    @Results(id = ARTICLE_COMMENT_LIST_RESULT_MAP_ID, value = {
+            @Result(column = "article_comment__id", property = "id"),
+            @Result(column = "article_comment__body", property = "body"),
+            @Result(column = "article_comment__created_at", property = "createdAt"),
+
+            @Result(column = "article__id", property = "article.id"),
+
+            @Result(column = "comment_author__id", property = "author.id"),
+            @Result(column = "comment_author__username", property = "author.username"),
+            @Result(column = "comment_author__enabled", property = "author.enabled"),
+    })
+    ArticleCommentEntity __articleCommentListResultMap();
 }
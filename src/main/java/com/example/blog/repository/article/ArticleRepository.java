@@ -1,19 +1,29 @@
 package com.example.blog.repository.article;
 
 import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.article.KeysetCursor;
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Mapper
 public interface ArticleRepository {
+
+    String ARTICLE_RESULT_MAP_ID = "ARTICLE_RESULT_MAP_ID";
+
     @Select("""
             <script>
             SELECT
                 a.id         AS article__id
               , a.title      AS article__title
               , a.body       AS article__body
+              , a.excerpt    AS article__excerpt
+              , a.comment_count     AS article__comment_count
+              , a.last_commented_at AS article__last_commented_at
               , a.created_at AS article__created_at
               , a.updated_at AS article__updated_at
               , u.id         AS user__id
@@ -29,10 +39,13 @@ public interface ArticleRepository {
             ORDER BY a.created_at DESC
             </script>
             """)
-    @Results(value = {
+    @Results(id = ARTICLE_RESULT_MAP_ID, value = {
             @Result(column = "article__id", property = "id"),
             @Result(column = "article__title", property = "title"),
             @Result(column = "article__body", property = "body"),
+            @Result(column = "article__excerpt", property = "excerpt"),
+            @Result(column = "article__comment_count", property = "commentCount"),
+            @Result(column = "article__last_commented_at", property = "lastCommentedAt"),
             @Result(column = "article__created_at", property = "createdAt"),
             @Result(column = "article__updated_at", property = "updatedAt"),
 
@@ -42,17 +55,120 @@ public interface ArticleRepository {
     })
     List<ArticleEntity> __select(@Param("articleId") Long articleId);
 
-    default Optional<ArticleEntity> selectById(long articleId) {
-        return __select(articleId).stream().findFirst();
-    }
+    @Select("""
+            SELECT
+                a.id         AS article__id
+              , a.title      AS article__title
+              , a.body       AS article__body
+              , a.excerpt    AS article__excerpt
+              , a.comment_count     AS article__comment_count
+              , a.last_commented_at AS article__last_commented_at
+              , a.created_at AS article__created_at
+              , a.updated_at AS article__updated_at
+              , u.id         AS user__id
+              , u.username   AS user__username
+              , u.enabled    AS user__enabled
+            FROM articles a
+            JOIN users u ON a.user_id = u.id
+            WHERE a.id = #{articleId}
+            """)
+    @ResultMap(ARTICLE_RESULT_MAP_ID)
+    Optional<ArticleEntity> selectById(long articleId);
 
     default List<ArticleEntity> selectAll() {
         return __select(null);
     }
 
+    @Select("""
+            <script>
+            SELECT
+                a.id         AS article__id
+              , a.title      AS article__title
+              , a.excerpt    AS article__excerpt
+              , a.comment_count     AS article__comment_count
+              , a.last_commented_at AS article__last_commented_at
+              , a.created_at AS article__created_at
+              , a.updated_at AS article__updated_at
+              , u.id         AS user__id
+              , u.username   AS user__username
+              , u.enabled    AS user__enabled
+            FROM articles a
+            JOIN users u ON a.user_id = u.id
+            <where>
+              <if test="cursorCreatedAt != null and cursorId != null">
+                a.created_at &lt; #{cursorCreatedAt}
+                OR (a.created_at = #{cursorCreatedAt} AND a.id &lt; #{cursorId})
+              </if>
+            </where>
+            ORDER BY a.created_at DESC, a.id DESC
+            LIMIT #{limit}
+            </script>
+            """)
+    @ResultMap(ARTICLE_RESULT_MAP_ID)
+    List<ArticleEntity> __selectPage(
+            @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
+
+    default List<ArticleEntity> selectPage(KeysetCursor cursor, int limit) {
+        if (cursor == null) {
+            return __selectPage(null, null, limit);
+        }
+        return __selectPage(cursor.createdAt(), cursor.id(), limit);
+    }
+
+    // 関連度は浮動小数点数でキーセットページネーションに向かないため、OFFSET でページを区切る
+    @Select("""
+            SELECT
+                a.id         AS article__id
+              , a.title      AS article__title
+              , a.excerpt    AS article__excerpt
+              , a.comment_count     AS article__comment_count
+              , a.last_commented_at AS article__last_commented_at
+              , a.created_at AS article__created_at
+              , a.updated_at AS article__updated_at
+              , u.id         AS user__id
+              , u.username   AS user__username
+              , u.enabled    AS user__enabled
+              , MATCH(a.title, a.body) AGAINST (#{keyword} IN NATURAL LANGUAGE MODE) AS score
+            FROM articles a
+            JOIN users u ON a.user_id = u.id
+            WHERE MATCH(a.title, a.body) AGAINST (#{keyword} IN NATURAL LANGUAGE MODE)
+            ORDER BY score DESC, a.id DESC
+            LIMIT #{limit} OFFSET #{offset}
+            """)
+    @ResultMap(ARTICLE_RESULT_MAP_ID)
+    List<ArticleEntity> search(
+            @Param("keyword") String keyword,
+            @Param("offset") int offset,
+            @Param("limit") int limit
+    );
+
+    // MySQL Connector/J は fetchSize = Integer.MIN_VALUE のとき、結果セットを1行ずつ読み込む
+    @Select("""
+            SELECT
+                a.id         AS article__id
+              , a.title      AS article__title
+              , a.excerpt    AS article__excerpt
+              , a.comment_count     AS article__comment_count
+              , a.last_commented_at AS article__last_commented_at
+              , a.created_at AS article__created_at
+              , a.updated_at AS article__updated_at
+              , u.id         AS user__id
+              , u.username   AS user__username
+              , u.enabled    AS user__enabled
+            FROM articles a
+            JOIN users u ON a.user_id = u.id
+            ORDER BY a.created_at DESC, a.id DESC
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultMap(ARTICLE_RESULT_MAP_ID)
+    Cursor<ArticleEntity> selectAllAsCursor();
+
     @Insert("""
-            INSERT INTO articles (user_id, title, body, created_at, updated_at)
-            VALUES (#{author.id}, #{title}, #{body}, #{createdAt}, #{updatedAt});
+            INSERT INTO articles (user_id, title, body, excerpt, created_at, updated_at)
+            VALUES (#{author.id}, #{title}, #{body}, #{excerpt}, #{createdAt}, #{updatedAt});
             """)
     @Options(useGeneratedKeys = true, keyColumn = "id", keyProperty = "id")
     void insert(ArticleEntity entity);
@@ -62,12 +178,69 @@ public interface ArticleRepository {
             SET
                 title      = #{title}
               , body       = #{body}
+              , excerpt    = #{excerpt}
               , updated_at = #{updatedAt}
             WHERE id = #{id}
               AND user_id = #{author.id}
             """)
     void update(ArticleEntity entity);
 
+    // 同じ記事へのコメントの作成が同時に行われても数え漏れがないように、行ロックを取って加算する
+    @Update("""
+            UPDATE articles
+            SET
+                comment_count     = comment_count + 1
+              , last_commented_at = GREATEST(COALESCE(last_commented_at, #{commentedAt}), #{commentedAt})
+            WHERE id = #{articleId}
+            """)
+    int incrementCommentCount(
+            @Param("articleId") long articleId,
+            @Param("commentedAt") OffsetDateTime commentedAt
+    );
+
+    @Select("""
+            SELECT COALESCE(MAX(id), 0) FROM articles
+            """)
+    long selectMaxId();
+
+    @Select("""
+            SELECT id
+            FROM articles
+            WHERE id BETWEEN #{fromId} AND #{toId}
+            FOR UPDATE
+            """)
+    List<Long> lockByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Select("""
+            SELECT
+                a.id                           AS article__id
+              , COALESCE(c.comment_count, 0)   AS article__comment_count
+              , c.last_commented_at            AS article__last_commented_at
+            FROM articles a
+            LEFT JOIN (
+                SELECT article_id, COUNT(*) AS comment_count, MAX(created_at) AS last_commented_at
+                FROM article_comments
+                WHERE article_id BETWEEN #{fromId} AND #{toId}
+                GROUP BY article_id
+            ) c ON c.article_id = a.id
+            WHERE a.id BETWEEN #{fromId} AND #{toId}
+              AND (
+                a.comment_count <> COALESCE(c.comment_count, 0)
+                OR NOT (a.last_commented_at <=> c.last_commented_at)
+              )
+            """)
+    @ResultMap(ARTICLE_RESULT_MAP_ID)
+    List<ArticleEntity> selectCommentCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Update("""
+            UPDATE articles
+            SET
+                comment_count     = #{commentCount}
+              , last_commented_at = #{lastCommentedAt}
+            WHERE id = #{id}
+            """)
+    void updateCommentCount(ArticleEntity entity);
+
     @Delete("""
             DELETE FROM articles
             WHERE id = #{id}
@@ -0,0 +1,211 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.config.ArticleSuggestProperties;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.article.KeysetCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 記事タイトルの前方一致検索のための、アプリケーションのメモリ上の索引。
+ * 件数の上限を超えたときは ID の小さい（古い）記事から索引から外す。
+ * 索引はノードごとに持つため、登録・削除は pub/sub で他のノードにも通知する。
+ */
+@Component
+@Slf4j
+public class ArticleTitleIndex {
+
+    // 同じタイトルの記事を区別するために、キーの末尾に ID を付ける（どの文字よりも小さいため前方一致の範囲に影響しない）
+    private static final char ID_SEPARATOR = '\u0000';
+    // キーと値のオブジェクトヘッダーや、スキップリストのノードなどのおおよそのサイズ
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ArticleRepository articleRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final int maxEntries;
+    private final String invalidationChannel;
+    // 自分が送った通知を、自分の索引に適用しないようにするための識別子
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentSkipListMap<String, Entry> entriesByKey = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, String> keysById = new ConcurrentSkipListMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+    // 読み込み中に登録・削除された記事の ID。読み込んだ古い値で上書きしないようにする
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+    private boolean loading;
+
+    public ArticleTitleIndex(
+            ArticleRepository articleRepository,
+            StringRedisTemplate redisTemplate,
+            ArticleSuggestProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.articleRepository = articleRepository;
+        this.redisTemplate = redisTemplate;
+        this.maxEntries = properties.maxEntries();
+        this.invalidationChannel = properties.invalidationChannel();
+        Gauge.builder("article.title.index.entries", keysById, ConcurrentSkipListMap::size)
+                .register(meterRegistry);
+        Gauge.builder("article.title.index.memory", estimatedBytes, AtomicLong::get)
+                .description("Estimated heap usage of the article title index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (this) {
+            loading = true;
+            changedWhileLoading.clear();
+        }
+        try {
+            KeysetCursor cursor = null;
+            var loaded = 0;
+            while (loaded < maxEntries) {
+                var rows = articleRepository.selectPage(cursor, Math.min(LOAD_BATCH_SIZE, maxEntries - loaded));
+                rows.forEach(article -> putLoaded(article.getId(), article.getTitle()));
+                loaded += rows.size();
+                if (rows.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                cursor = KeysetCursor.of(rows.get(rows.size() - 1));
+            }
+            log.info("Loaded {} article titles into the index", loaded);
+        } finally {
+            synchronized (this) {
+                loading = false;
+                changedWhileLoading.clear();
+            }
+        }
+    }
+
+    /**
+     * 他のノードの索引にも登録する。
+     */
+    public void put(long articleId, String title) {
+        putLocal(articleId, title);
+        publish(articleId, String.join(":", nodeId, "put", String.valueOf(articleId), title));
+    }
+
+    /**
+     * 他のノードの索引からも外す。
+     */
+    public void remove(long articleId) {
+        removeLocal(articleId);
+        publish(articleId, String.join(":", nodeId, "remove", String.valueOf(articleId)));
+    }
+
+    // コミット後に呼ばれるため、通知に失敗しても記事の作成・更新・削除は失敗させない
+    private void publish(long articleId, String message) {
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, message);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish article title index update [{}]", articleId, e);
+        }
+    }
+
+    /**
+     * 他のノードから届いた通知を、自分の索引に適用する。
+     * 形式は「ノードの識別子:put:記事の ID:タイトル」または「ノードの識別子:remove:記事の ID」（タイトルはコロンを含んでよい）。
+     */
+    public void handleMessage(String message) {
+        var fields = message.split(":", 4);
+        if (fields.length < 3 || fields[0].equals(nodeId)) {
+            return;
+        }
+        var articleId = Long.parseLong(fields[2]);
+        switch (fields[1]) {
+            case "put" -> putLocal(articleId, fields.length == 4 ? fields[3] : "");
+            case "remove" -> removeLocal(articleId);
+            default -> log.warn("Unknown article title index message: {}", message);
+        }
+    }
+
+    private synchronized void putLoaded(long articleId, String title) {
+        // 読み込みを始めた後に登録・削除された記事は、読み込んだ値が古い可能性があるため使わない
+        if (changedWhileLoading.contains(articleId)) {
+            return;
+        }
+        putEntry(articleId, title);
+    }
+
+    private synchronized void putLocal(long articleId, String title) {
+        if (loading) {
+            changedWhileLoading.add(articleId);
+        }
+        putEntry(articleId, title);
+    }
+
+    private synchronized void removeLocal(long articleId) {
+        if (loading) {
+            changedWhileLoading.add(articleId);
+        }
+        removeEntry(articleId);
+    }
+
+    private void putEntry(long articleId, String title) {
+        removeEntry(articleId);
+
+        var key = normalize(title) + ID_SEPARATOR + articleId;
+        entriesByKey.put(key, new Entry(articleId, title));
+        keysById.put(articleId, key);
+        estimatedBytes.addAndGet(sizeOf(key, title));
+
+        while (keysById.size() > maxEntries) {
+            removeEntry(keysById.firstKey());
+        }
+    }
+
+    private void removeEntry(long articleId) {
+        var key = keysById.remove(articleId);
+        if (key == null) {
+            return;
+        }
+        var removed = entriesByKey.remove(key);
+        estimatedBytes.addAndGet(-sizeOf(key, removed.title()));
+    }
+
+    public List<ArticleEntity> findByPrefix(String prefix, int limit) {
+        var normalizedPrefix = normalize(prefix);
+        var result = new ArrayList<ArticleEntity>(limit);
+        for (var entry : entriesByKey.tailMap(normalizedPrefix).entrySet()) {
+            if (result.size() >= limit || !entry.getKey().startsWith(normalizedPrefix)) {
+                break;
+            }
+            var article = new ArticleEntity();
+            article.setId(entry.getValue().articleId());
+            article.setTitle(entry.getValue().title());
+            result.add(article);
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static long sizeOf(String key, String title) {
+        // 文字列は最大で1文字あたり2バイトとして見積もる
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + title.length());
+    }
+
+    private record Entry(long articleId, String title) {
+    }
+}
@@ -0,0 +1,376 @@
+package com.example.blog.repository.session;
+
+import com.example.blog.config.SessionNearCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.data.redis.RedisSessionRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RedisSessionRepository の前段に置く、セッションのローカルキャッシュ。
+ * キャッシュに載っているセッションは Redis から読み込まずに返し、保存するときは変更した項目だけを Redis に書き込む。
+ * 属性の変更・ID の変更・削除は pub/sub で他のノードに通知して、キャッシュから削除させる。
+ * 通知より前に読み込んだ古い値がキャッシュに載ることがあるため、TTL は短くしておく。
+ * pub/sub の通知は届かないことがあるため、ログイン済みのセッションは前回の確認から existenceCheckInterval が経っていれば、
+ * キャッシュから返す前に Redis に残っているかを確認する。他のノードでのログアウトは、通知が届かなくてもこの間隔で反映される。
+ */
+@Slf4j
+public class NearCacheSessionRepository implements SessionRepository<Session> {
+
+    // RedisSessionRepository と同じハッシュのフィールド名
+    private static final String LAST_ACCESSED_TIME_KEY = "lastAccessedTime";
+    private static final String MAX_INACTIVE_INTERVAL_KEY = "maxInactiveInterval";
+    private static final String ATTRIBUTE_PREFIX = "sessionAttr:";
+    private static final byte[] EMPTY = new byte[0];
+    private static final RedisScript<Long> SAVE_DELTA_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/session-save-delta.lua"), Long.class);
+
+    private final RedisSessionRepository delegate;
+    private final RedisSerializer<Object> serializer;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyNamespace;
+    private final String invalidationChannel;
+    private final long existenceCheckIntervalNanos;
+    // 自分が送った通知で、自分のキャッシュを削除しないようにするための識別子
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, CachedSession> cache;
+
+    public NearCacheSessionRepository(
+            RedisSessionRepository delegate,
+            RedisSerializer<Object> serializer,
+            StringRedisTemplate redisTemplate,
+            String namespace,
+            SessionNearCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.serializer = serializer;
+        this.redisTemplate = redisTemplate;
+        this.keyNamespace = namespace + ":sessions:";
+        this.invalidationChannel = properties.invalidationChannel();
+        this.existenceCheckIntervalNanos = properties.existenceCheckInterval().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session.local");
+    }
+
+    @Override
+    public Session createSession() {
+        return new NearCacheSession(delegate.createSession(), null, null);
+    }
+
+    @Override
+    public Session findById(String id) {
+        var cached = cache.getIfPresent(id);
+        if (cached != null) {
+            // 削除の通知を受け取れなかった、ログアウト済みのセッションは返さない
+            if (isAuthenticated(cached) && !verifyExists(cached)) {
+                cache.invalidate(id);
+                return null;
+            }
+            var session = toMapSession(cached);
+            if (!session.isExpired()) {
+                return new NearCacheSession(session, id, cached);
+            }
+            // 他のノードへのアクセスで有効期限が延びているかもしれないため、Redis から読み込み直す
+            cache.invalidate(id);
+        }
+
+        var session = delegate.findById(id);
+        if (session == null) {
+            return null;
+        }
+        cache.put(id, snapshot(session));
+        return new NearCacheSession(session, id, null);
+    }
+
+    @Override
+    public void save(Session session) {
+        var nearCacheSession = (NearCacheSession) session;
+        CachedSession saved;
+        if (nearCacheSession.source == null) {
+            delegate.save((RedisSessionRepository.RedisSession) nearCacheSession.session);
+            saved = snapshot(nearCacheSession.session);
+        } else {
+            saved = saveDelta(nearCacheSession);
+        }
+
+        var originalId = nearCacheSession.originalId;
+        if (originalId != null && (!originalId.equals(session.getId()) || nearCacheSession.hasChanges())) {
+            evict(originalId);
+        }
+        cache.put(session.getId(), saved);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        evict(id);
+    }
+
+    /**
+     * 他のノードから届いた通知を受け取り、ローカルキャッシュから削除する。
+     */
+    public void handleInvalidation(String message) {
+        var separator = message.indexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        cache.invalidate(message.substring(separator + 1));
+    }
+
+    private void evict(String id) {
+        cache.invalidate(id);
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, nodeId + ":" + id);
+        } catch (DataAccessException e) {
+            // 保存・削除は済んでいるため失敗させない。他のノードには TTL と存在確認で反映される
+            log.warn("Failed to publish session cache invalidation [{}]", id, e);
+        }
+    }
+
+    /**
+     * 前回の確認から existenceCheckInterval が経っていれば、Redis にセッションが残っているかを確認する。
+     * キャッシュの有効期限を延ばさないように、エントリは置き換えずに確認した時刻だけを更新する。
+     */
+    private boolean verifyExists(CachedSession cached) {
+        var now = System.nanoTime();
+        if (now - cached.verifiedAt().get() < existenceCheckIntervalNanos) {
+            return true;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(keyNamespace + cached.id()))) {
+            return false;
+        }
+        cached.verifiedAt().set(now);
+        return true;
+    }
+
+    /**
+     * キャッシュから読み込んだセッションの、変更した項目と最終アクセス時刻だけを書き込む。
+     * RedisSessionRepository のように保存前の存在確認で Redis に問い合わせないよう、確認と書き込みを Lua スクリプトで1回にまとめる。
+     */
+    private CachedSession saveDelta(NearCacheSession nearCacheSession) {
+        var session = nearCacheSession.session;
+        var expireAt = session.getLastAccessedTime().plus(session.getMaxInactiveInterval());
+        var args = new ArrayList<byte[]>();
+        args.add(Long.toString(expireAt.toEpochMilli()).getBytes(StandardCharsets.UTF_8));
+        addField(args, LAST_ACCESSED_TIME_KEY, serializer.serialize(session.getLastAccessedTime().toEpochMilli()));
+        if (nearCacheSession.maxInactiveIntervalChanged) {
+            addField(
+                    args,
+                    MAX_INACTIVE_INTERVAL_KEY,
+                    serializer.serialize((int) session.getMaxInactiveInterval().getSeconds())
+            );
+        }
+        var attributes = new HashMap<>(nearCacheSession.source.attributes());
+        for (var name : nearCacheSession.changedAttributeNames) {
+            var value = session.getAttribute(name);
+            if (value == null) {
+                addField(args, ATTRIBUTE_PREFIX + name, EMPTY);
+                attributes.remove(name);
+            } else {
+                var bytes = serializer.serialize(value);
+                addField(args, ATTRIBUTE_PREFIX + name, bytes);
+                attributes.put(name, bytes);
+            }
+        }
+
+        var written = redisTemplate.execute(
+                SAVE_DELTA_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(keyNamespace + session.getId()),
+                args.toArray()
+        );
+        if (written == null || written == 0) {
+            cache.invalidate(session.getId());
+            throw new IllegalStateException("Session was invalidated");
+        }
+        return new CachedSession(
+                session.getId(),
+                session.getCreationTime(),
+                session.getLastAccessedTime(),
+                session.getMaxInactiveInterval(),
+                attributes,
+                new AtomicLong(System.nanoTime())
+        );
+    }
+
+    private static boolean isAuthenticated(CachedSession cached) {
+        return cached.attributes().containsKey(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+    }
+
+    private static void addField(List<byte[]> args, String field, byte[] value) {
+        args.add(field.getBytes(StandardCharsets.UTF_8));
+        args.add(value);
+    }
+
+    // 属性の値はリクエストをまたいで共有しないように、シリアライズした状態で保持する
+    private CachedSession snapshot(Session session) {
+        var attributes = new HashMap<String, byte[]>();
+        for (var name : session.getAttributeNames()) {
+            var value = session.getAttribute(name);
+            if (value != null) {
+                attributes.put(name, serializer.serialize(value));
+            }
+        }
+        return new CachedSession(
+                session.getId(),
+                session.getCreationTime(),
+                session.getLastAccessedTime(),
+                session.getMaxInactiveInterval(),
+                attributes,
+                new AtomicLong(System.nanoTime())
+        );
+    }
+
+    private MapSession toMapSession(CachedSession cached) {
+        var session = new MapSession(cached.id());
+        session.setCreationTime(cached.creationTime());
+        session.setLastAccessedTime(cached.lastAccessedTime());
+        session.setMaxInactiveInterval(cached.maxInactiveInterval());
+        cached.attributes().forEach((name, bytes) -> session.setAttribute(name, serializer.deserialize(bytes)));
+        return session;
+    }
+
+    private record CachedSession(
+            String id,
+            Instant creationTime,
+            Instant lastAccessedTime,
+            Duration maxInactiveInterval,
+            Map<String, byte[]> attributes,
+            // Redis から読み込んだか書き込んだ、またはセッションが残っていることを確認した時刻（System.nanoTime）
+            AtomicLong verifiedAt
+    ) {
+    }
+
+    /**
+     * 変更した項目を記録するセッション。
+     * キャッシュから読み込んだセッションの ID を変更するときは、Redis から読み込み直して RedisSessionRepository に任せる。
+     */
+    private final class NearCacheSession implements Session {
+
+        private Session session;
+        // 新しく作成したセッションのときは null
+        private final String originalId;
+        // キャッシュから読み込んだセッションのときだけ、読み込んだ時点の値を持つ
+        private CachedSession source;
+        private final Set<String> changedAttributeNames = new HashSet<>();
+        private boolean maxInactiveIntervalChanged;
+
+        private NearCacheSession(Session session, String originalId, CachedSession source) {
+            this.session = session;
+            this.originalId = originalId;
+            this.source = source;
+        }
+
+        private boolean hasChanges() {
+            return !changedAttributeNames.isEmpty() || maxInactiveIntervalChanged;
+        }
+
+        @Override
+        public String getId() {
+            return session.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            if (source != null) {
+                var redisSession = delegate.findById(originalId);
+                if (redisSession == null) {
+                    throw new IllegalStateException("Session was invalidated");
+                }
+                for (var name : changedAttributeNames) {
+                    redisSession.setAttribute(name, session.getAttribute(name));
+                }
+                if (maxInactiveIntervalChanged) {
+                    redisSession.setMaxInactiveInterval(session.getMaxInactiveInterval());
+                }
+                redisSession.setLastAccessedTime(session.getLastAccessedTime());
+                session = redisSession;
+                source = null;
+            }
+            return session.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return session.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return session.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            session.setAttribute(attributeName, attributeValue);
+            changedAttributeNames.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            session.removeAttribute(attributeName);
+            changedAttributeNames.add(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return session.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            session.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return session.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            session.setMaxInactiveInterval(interval);
+            maxInactiveIntervalChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return session.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return session.isExpired();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.blog.repository.user;
+
+import com.example.blog.config.UserCacheProperties;
+import com.example.blog.service.user.UserEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * ユーザー情報のローカルキャッシュ。ID とユーザー名のどちらでも引ける。
+ * パスワードのハッシュはキャッシュに保持しないため、認証やパスワードを含む更新には使えない。
+ */
+@Component
+@Slf4j
+public class UserCacheRepository {
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserCacheProperties properties;
+    private final Cache<Long, UserEntity> byId;
+    // ユーザー名は変更できないため、ユーザー名から ID への対応はユーザーが削除されるまで変わらない
+    private final Cache<String, Long> idByUsername;
+
+    public UserCacheRepository(
+            StringRedisTemplate redisTemplate,
+            UserCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.localMaximumSize())
+                .expireAfterWrite(properties.localTtl())
+                .recordStats()
+                .build();
+        this.idByUsername = Caffeine.newBuilder()
+                .maximumSize(properties.localMaximumSize())
+                .expireAfterWrite(properties.localTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.local.id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByUsername, "user.local.username");
+    }
+
+    public Optional<UserEntity> findById(long userId, LongFunction<Optional<UserEntity>> loader) {
+        var cached = byId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        return load(() -> loader.apply(userId));
+    }
+
+    public Optional<UserEntity> findByUsername(String username, Function<String, Optional<UserEntity>> loader) {
+        var userId = username == null ? null : idByUsername.getIfPresent(username);
+        var cached = userId == null ? null : byId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        return load(() -> loader.apply(username));
+    }
+
+    /**
+     * 他のノードのローカルキャッシュも削除する。
+     * トランザクション中に呼ばれた場合は、完了後にもう一度削除する。
+     * コミット前に別のリクエストが古い値をキャッシュに載せてしまうのを防ぐため。
+     */
+    public void evict(long userId, String username) {
+        evictAll(userId, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAll(userId, username);
+                }
+            });
+        }
+    }
+
+    /**
+     * ID とユーザー名の両方を直接削除する。
+     * ユーザー名から ID への対応が先に期限切れになっていても、ID のエントリを残さないようにする。
+     */
+    public void evictLocal(long userId, String username) {
+        byId.invalidate(userId);
+        idByUsername.invalidate(username);
+    }
+
+    /**
+     * 他のノードから届いた「ID:ユーザー名」形式の通知を受け取り、ローカルキャッシュから削除する。
+     */
+    public void handleInvalidation(String message) {
+        var separator = message.indexOf(':');
+        if (separator < 0) {
+            log.warn("Ignored malformed user cache invalidation [{}]", message);
+            return;
+        }
+        evictLocal(Long.parseLong(message.substring(0, separator)), message.substring(separator + 1));
+    }
+
+    private Optional<UserEntity> load(Supplier<Optional<UserEntity>> loader) {
+        var loaded = loader.get().map(UserCacheRepository::copyOf);
+        loaded.ifPresent(entity -> {
+            put(entity);
+            // ロールバックされたトランザクションで読み込んだ値（未コミットのユーザーなど）はキャッシュに残さない
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            evictLocal(entity.getId(), entity.getUsername());
+                        }
+                    }
+                });
+            }
+        });
+        return loaded;
+    }
+
+    private void put(UserEntity entity) {
+        byId.put(entity.getId(), copyOf(entity));
+        idByUsername.put(entity.getUsername(), entity.getId());
+    }
+
+    private void evictAll(long userId, String username) {
+        evictLocal(userId, username);
+        try {
+            // 他のノードのローカルキャッシュを削除する
+            redisTemplate.convertAndSend(properties.invalidationChannel(), userId + ":" + username);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish user cache invalidation [{}]", username, e);
+        }
+    }
+
+    // パスワードを除き、呼び出し元でエンティティが変更されてもキャッシュに影響しないようにコピーする
+    private static UserEntity copyOf(UserEntity entity) {
+        return new UserEntity(
+                entity.getId(),
+                entity.getUsername(),
+                null,
+                entity.isEnabled(),
+                entity.getImagePath()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.example.blog.repository.user;
 import com.example.blog.service.user.UserEntity;
 import org.apache.ibatis.annotations.*;
 
+import java.util.List;
 import java.util.Optional;
 
 @Mapper
@@ -25,6 +26,35 @@ public interface UserRepository {
             """)
     Optional<UserEntity> selectByUsernameInternal(@Param("username") String username);
 
+    @Select("""
+            SELECT
+                id
+              , u.username
+              , u.password
+              , u.enabled
+              , u.image_path AS imagePath
+            FROM users u
+            WHERE u.id = #{id}
+            """)
+    Optional<UserEntity> selectById(@Param("id") long id);
+
+    // 全ユーザーを ID 順に読み込むためのページ。ID とユーザー名だけを取得する
+    @Select("""
+            <script>
+            SELECT
+                u.id
+              , u.username
+            FROM users u
+            <where>
+              <if test="cursorId != null">
+                u.id &gt; #{cursorId}
+              </if>
+            </where>
+            ORDER BY u.id
+            LIMIT #{limit}
+            </script>
+            """)
+    List<UserEntity> selectUsernamePage(@Param("cursorId") Long cursorId, @Param("limit") int limit);
 
     @Insert("""
             INSERT INTO users (username, password, enabled, image_path)
@@ -49,4 +79,11 @@ public interface UserRepository {
                 id = #{id}
             """)
     void update(UserEntity entity);
+
+    @Update("""
+            UPDATE users u
+            SET u.password = #{password}
+            WHERE u.username = #{username}
+            """)
+    void updatePassword(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,202 @@
+package com.example.blog.repository.user;
+
+import com.example.blog.config.UsernameFilterProperties;
+import com.example.blog.service.user.UserEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 登録済みのユーザー名の Bloom フィルタ。複数のノードで共有するため Redis のビットマップに保持する。
+ * false を返したユーザー名は未登録と確定できるが、true のときは登録済みとは限らないためデータベースで確認する。
+ * Bloom フィルタからは削除できないため、削除したユーザー名は偽陽性として残る。
+ * 読み込みが終わったら、フィルタの範囲外の1ビットを目印として同じキーに立てる。
+ * Redis の再起動や削除でキーが失われたときは目印も消えるため、読み込み直すまではすべて登録済みの可能性ありとして扱う。
+ */
+@Component
+@Slf4j
+public class UsernameFilter {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final BitFieldType BIT = BitFieldType.unsigned(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserRepository userRepository;
+    private final String key;
+    private final long bits;
+    private final int hashFunctions;
+    private final Counter absentCounter;
+    private final Counter presentCounter;
+    private final Counter unavailableCounter;
+    private final Counter falsePositiveCounter;
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    public UsernameFilter(
+            StringRedisTemplate redisTemplate,
+            UserRepository userRepository,
+            UsernameFilterProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.userRepository = userRepository;
+        var n = properties.expectedInsertions();
+        var p = properties.falsePositiveProbability();
+        this.bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        // サイズやハッシュ関数の数を変えたときは、別のビットマップとして作り直す
+        this.key = "%s:%d:%d".formatted(properties.key(), bits, hashFunctions);
+
+        this.absentCounter = Counter.builder("user.username.filter.checks")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.presentCounter = Counter.builder("user.username.filter.checks")
+                .tag("result", "present")
+                .register(meterRegistry);
+        this.unavailableCounter = Counter.builder("user.username.filter.checks")
+                .tag("result", "unavailable")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("user.username.filter.false.positives")
+                .description("Usernames reported as present by the filter but not found in the database")
+                .register(meterRegistry);
+        Gauge.builder("user.username.filter.false.positive.rate", this, UsernameFilter::falsePositiveRate)
+                .description("Observed false positive rate of the username filter")
+                .register(meterRegistry);
+        Gauge.builder("user.username.filter.memory", () -> bits / Byte.SIZE)
+                .description("Size of the username filter bitmap in Redis")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // ビットを立てるだけで消さないため、他のノードが同時に読み込んだり登録したりしても壊れない
+            Long cursorId = null;
+            var loaded = 0;
+            while (true) {
+                var rows = userRepository.selectUsernamePage(cursorId, LOAD_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                putAll(rows.stream().map(UserEntity::getUsername).toList());
+                loaded += rows.size();
+                cursorId = rows.get(rows.size() - 1).getId();
+            }
+            redisTemplate.opsForValue().setBit(key, bits, true);
+            log.info("Loaded {} usernames into the filter ({} bits, {} hash functions)", loaded, bits, hashFunctions);
+        } catch (DataAccessException e) {
+            // 目印が立たないため、フィルタは使われずにデータベースで確認される。次に mightContain が呼ばれたときに読み込み直す
+            log.warn("Failed to load usernames into the filter", e);
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * 書き込みに失敗したユーザー名は未登録と判定されてしまうため、Redis のエラーはそのまま投げる。
+     */
+    public void put(String username) {
+        putAll(List.of(username));
+    }
+
+    public boolean mightContain(String username) {
+        if (username == null) {
+            return false;
+        }
+        // 目印とフィルタのビットを1回のコマンドで読み込む
+        var subCommands = BitFieldSubCommands.create().get(BIT).valueAt(bits);
+        for (var offset : offsets(username)) {
+            subCommands = subCommands.get(BIT).valueAt(offset);
+        }
+        List<Long> values;
+        try {
+            values = redisTemplate.opsForValue().bitField(key, subCommands);
+        } catch (DataAccessException e) {
+            log.warn("Failed to check the username filter. Falling back to the database", e);
+            unavailableCounter.increment();
+            return true;
+        }
+        if (values == null || values.isEmpty() || values.get(0) != 1L) {
+            // 読み込み中か、フィルタが失われている
+            unavailableCounter.increment();
+            if (!loading.get()) {
+                CompletableFuture.runAsync(this::load);
+            }
+            return true;
+        }
+        var present = values.subList(1, values.size()).stream().allMatch(value -> value == 1L);
+        (present ? presentCounter : absentCounter).increment();
+        return present;
+    }
+
+    /**
+     * mightContain が true を返したユーザー名が、データベースに存在しなかったときに呼び出す。
+     */
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    private void putAll(Collection<String> usernames) {
+        var subCommands = BitFieldSubCommands.create();
+        for (var username : usernames) {
+            for (var offset : offsets(username)) {
+                subCommands = subCommands.set(BIT).valueAt(offset).to(1);
+            }
+        }
+        redisTemplate.opsForValue().bitField(key, subCommands);
+    }
+
+    private long[] offsets(String username) {
+        // MySQL の照合順序は大文字・小文字を区別しないため、小文字にそろえてからハッシュする
+        var bytes = username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        // 2つのハッシュ値の線形結合で k 個のハッシュ関数を代用する（Kirsch–Mitzenmacher）
+        var hash1 = fnv1a64(bytes);
+        var hash2 = mix64(hash1) | 1;
+        var offsets = new long[hashFunctions];
+        for (var i = 0; i < hashFunctions; i++) {
+            offsets[i] = Math.floorMod(hash1 + i * hash2, bits);
+        }
+        return offsets;
+    }
+
+    private double falsePositiveRate() {
+        var falsePositives = falsePositiveCounter.count();
+        var negatives = falsePositives + absentCounter.count();
+        return negatives == 0 ? 0 : falsePositives / negatives;
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 の最終化関数
+    private static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.blog.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * 起動時に計測した実行時間から BCrypt のコストを決める PasswordEncoder。
+ * ハッシュにはアルゴリズムとコストが含まれるため、コストが低いハッシュはログインに成功したときにハッシュし直す。
+ * 起動時の計測は CPU の状況で揺れるため、コストを下げるハッシュのし直しは downgradeEnabled を指定したときだけ行う。
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+    // $2a$10$ のように、バージョンとコストがハッシュの先頭に含まれる
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final String CALIBRATION_PASSWORD = "calibration_password";
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    @Getter
+    private final int strength;
+    private final boolean downgradeEnabled;
+
+    public CalibratedBCryptPasswordEncoder(int strength, boolean downgradeEnabled) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.downgradeEnabled = downgradeEnabled;
+    }
+
+    /**
+     * 1回のハッシュ化が targetDuration 以内に収まる最大のコストを、minStrength 以上 maxStrength 以下の範囲で選ぶ。
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(
+            Duration targetDuration,
+            int minStrength,
+            int maxStrength,
+            boolean downgradeEnabled
+    ) {
+        var probe = new BCryptPasswordEncoder(minStrength);
+        // JIT コンパイル前の実行時間を含めないように、1回目は計測しない
+        probe.encode(CALIBRATION_PASSWORD);
+        var elapsed = Long.MAX_VALUE;
+        for (var i = 0; i < CALIBRATION_SAMPLES; i++) {
+            var start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            elapsed = Math.min(elapsed, System.nanoTime() - start);
+        }
+
+        // コストを 1 上げるごとに計算量は 2 倍になる
+        var ratio = (double) targetDuration.toNanos() / Math.max(1, elapsed);
+        var strength = minStrength + (int) Math.floor(Math.log(ratio) / Math.log(2));
+        strength = Math.max(minStrength, Math.min(maxStrength, strength));
+        log.info(
+                "Calibrated BCrypt strength to {} (strength {} took {} ms, target {} ms)",
+                strength, minStrength, elapsed / 1_000_000.0, targetDuration.toMillis()
+        );
+        return new CalibratedBCryptPasswordEncoder(strength, downgradeEnabled);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 現在のコストより低いハッシュはハッシュし直す。
+     * 高いハッシュは downgradeEnabled のときだけハッシュし直す（遅いインスタンスに移したときに、ログインの CPU 時間を目標に戻すため）。
+     * 既定では下げないため、起動時の計測がたまたま遅かったノードや、計測結果が異なるノードの間でハッシュが行き来しない。
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        var matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        var encodedStrength = Integer.parseInt(matcher.group(1));
+        return encodedStrength < strength || (downgradeEnabled && encodedStrength > strength);
+    }
+}
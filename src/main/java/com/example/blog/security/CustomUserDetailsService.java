@@ -3,13 +3,15 @@ package com.example.blog.security;
 import com.example.blog.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -27,4 +29,20 @@ public class CustomUserDetailsService implements UserDetailsService {
                         "given username is not found: username = " + username
                 ));
     }
+
+    /**
+     * ログインに成功したときに、PasswordEncoder の設定と異なるコストのハッシュを DaoAuthenticationProvider から更新する。
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        var loggedInUser = (LoggedInUser) user;
+        return new LoggedInUser(
+                loggedInUser.getUserId(),
+                loggedInUser.getUsername(),
+                newPassword,
+                loggedInUser.isEnabled()
+        );
+    }
 }
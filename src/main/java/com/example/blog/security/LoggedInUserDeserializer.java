@@ -0,0 +1,28 @@
+package com.example.blog.security;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+
+/**
+ * {@link LoggedInUserMixin} で保存した JSON から {@link LoggedInUser} を復元する。
+ * パスワードは保存していないが、User のコンストラクタは null を受け付けないため、空文字で生成してから消去する。
+ */
+class LoggedInUserDeserializer extends JsonDeserializer<LoggedInUser> {
+
+    @Override
+    public LoggedInUser deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonNode node = parser.getCodec().readTree(parser);
+        var user = new LoggedInUser(
+                node.get("userId").asLong(),
+                node.get("username").asText(),
+                "",
+                node.get("enabled").asBoolean()
+        );
+        user.eraseCredentials();
+        return user;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.blog.security;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+
+/**
+ * {@link LoggedInUser} を JSON でシリアライズ・デシリアライズするためのモジュール。
+ * Spring Security の {@link SecurityJackson2Modules} と一緒に登録して、セッションに保存するセキュリティコンテキストに使う。
+ */
+public class LoggedInUserJackson2Module extends SimpleModule {
+
+    public LoggedInUserJackson2Module() {
+        super(LoggedInUserJackson2Module.class.getName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        SecurityJackson2Modules.enableDefaultTyping(context.getOwner());
+        // Spring Security のデフォルトの型情報は許可リスト方式で、ミックスインを登録したクラスだけをデシリアライズできる
+        context.setMixInAnnotations(LoggedInUser.class, LoggedInUserMixin.class);
+    }
+}
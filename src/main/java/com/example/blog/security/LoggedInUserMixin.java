@@ -0,0 +1,25 @@
+package com.example.blog.security;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * {@link LoggedInUser} の userId, username, enabled だけを保存する。
+ * 権限は持たず、アカウントの期限・ロックは使っていないため保存しない。
+ * パスワードのハッシュはログイン後に消去されるが、消去されていなくてもセッションに書き出さない。
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY)
+@JsonDeserialize(using = LoggedInUserDeserializer.class)
+@JsonAutoDetect(
+        fieldVisibility = JsonAutoDetect.Visibility.ANY,
+        getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE
+)
+@JsonIgnoreProperties(
+        value = {"password", "authorities", "accountNonExpired", "accountNonLocked", "credentialsNonExpired"},
+        ignoreUnknown = true
+)
+abstract class LoggedInUserMixin {
+}
@@ -0,0 +1,102 @@
+package com.example.blog.security;
+
+import com.example.blog.config.LoginThrottleProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * ユーザー名ごと・IP アドレスごとのログイン試行回数の制限。
+ * 複数のノードで共有するため、スライディングウィンドウを Redis の Lua スクリプトで判定する。
+ * ユーザー名ごとの回数はログインに成功したときに消し、続けてログインする本人が制限されないようにする。
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    // リクエストのユーザー名は検証していないため、users.username の長さで切り詰めてからキーに使う
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/login-throttle.lua"), List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoginThrottleProperties properties;
+    private final Counter allowedCounter;
+    private final Counter usernameRejectedCounter;
+    private final Counter ipRejectedCounter;
+
+    public LoginThrottle(
+            StringRedisTemplate redisTemplate,
+            LoginThrottleProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.allowedCounter = Counter.builder("login.throttle.attempts")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.usernameRejectedCounter = Counter.builder("login.throttle.attempts")
+                .tag("result", "rejected_username")
+                .register(meterRegistry);
+        this.ipRejectedCounter = Counter.builder("login.throttle.attempts")
+                .tag("result", "rejected_ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 試行を記録する。どちらかの上限に達しているときは記録せずに LoginThrottledException を投げる。
+     */
+    public void acquire(String username, String remoteAddress) throws LoginThrottledException {
+        var keys = List.of(
+                usernameKey(username),
+                properties.keyPrefix() + ":ip:" + remoteAddress
+        );
+        var result = (List<?>) redisTemplate.execute(
+                SCRIPT,
+                keys,
+                UUID.randomUUID().toString(),
+                String.valueOf(properties.usernameLimit()),
+                String.valueOf(properties.usernameWindow().toMillis()),
+                String.valueOf(properties.ipLimit()),
+                String.valueOf(properties.ipWindow().toMillis())
+        );
+
+        var rejectedKey = ((Number) result.get(0)).intValue();
+        if (rejectedKey == 0) {
+            allowedCounter.increment();
+            return;
+        }
+        (rejectedKey == 1 ? usernameRejectedCounter : ipRejectedCounter).increment();
+        throw new LoginThrottledException(Duration.ofMillis(((Number) result.get(1)).longValue()));
+    }
+
+    /**
+     * ログインに成功したときに、ユーザー名ごとの試行回数を消す。IP アドレスごとの回数は消さない。
+     */
+    public void reset(String username) {
+        try {
+            redisTemplate.delete(usernameKey(username));
+        } catch (DataAccessException e) {
+            // ログインは成功しているため失敗させない。回数はウィンドウが過ぎれば消える
+            log.warn("Failed to reset login throttle for username", e);
+        }
+    }
+
+    private String usernameKey(String username) {
+        var truncated = username.length() > MAX_USERNAME_LENGTH ? username.substring(0, MAX_USERNAME_LENGTH) : username;
+        // MySQL の照合順序は大文字・小文字を区別しないため、同じユーザーとして数える
+        return properties.keyPrefix() + ":username:" + truncated.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog.security;
+
+import lombok.Getter;
+import org.springframework.security.core.AuthenticationException;
+
+import java.time.Duration;
+
+/**
+ * ログインの試行回数が上限に達したときに発生する。パスワードの照合は行わない。
+ */
+@Getter
+public class LoginThrottledException extends AuthenticationException {
+
+    private final Duration retryAfter;
+
+    public LoginThrottledException(Duration retryAfter) {
+        super("too many login attempts");
+        this.retryAfter = retryAfter;
+    }
+}
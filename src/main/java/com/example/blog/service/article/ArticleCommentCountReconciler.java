@@ -0,0 +1,82 @@
+package com.example.blog.service.article;
+
+import com.example.blog.config.ArticleCommentCountReconciliationProperties;
+import com.example.blog.repository.article.ArticleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * articles.comment_count と last_commented_at が article_comments とずれていないかを定期的に確認して修正する。
+ * 記事の行ロックを長く持たないように、ID の範囲ごとに分けてトランザクションを実行する。
+ * 複数のノードで同時に実行しないように、Redis のロックを取得したノードだけが実行する。
+ */
+@Component
+@Slf4j
+public class ArticleCommentCountReconciler {
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/release-lock.lua"), Long.class);
+
+    private final ArticleRepository articleRepository;
+    private final ArticleCommentService articleCommentService;
+    private final StringRedisTemplate redisTemplate;
+    private final int batchSize;
+    private final String lockKey;
+    private final Duration lockTtl;
+    private final Counter repairedCounter;
+
+    public ArticleCommentCountReconciler(
+            ArticleRepository articleRepository,
+            ArticleCommentService articleCommentService,
+            StringRedisTemplate redisTemplate,
+            ArticleCommentCountReconciliationProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.articleRepository = articleRepository;
+        this.articleCommentService = articleCommentService;
+        this.redisTemplate = redisTemplate;
+        this.batchSize = properties.batchSize();
+        this.lockKey = properties.lockKey();
+        this.lockTtl = properties.lockTtl();
+        this.repairedCounter = Counter.builder("article.comment_count.repaired")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${reconciliation.article-comment-count.cron}")
+    public void reconcile() {
+        // 自分が取得したロックだけを解放できるように、ノードと実行ごとに異なる値をロックに書き込む
+        var token = UUID.randomUUID().toString();
+        var acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.info("Skipped reconciliation of comment_count because another node holds the lock");
+            return;
+        }
+        try {
+            reconcileAll();
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    private void reconcileAll() {
+        var maxId = articleRepository.selectMaxId();
+        var repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            repaired += articleCommentService.reconcileCommentCounts(fromId, fromId + batchSize - 1);
+        }
+        repairedCounter.increment(repaired);
+        if (repaired > 0) {
+            log.warn("Repaired comment_count of {} articles", repaired);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.blog.service.article;
+
+import java.util.List;
+import java.util.Optional;
+
+public record ArticleCommentPage(
+        List<ArticleCommentEntity> items,
+        Optional<KeysetCursor> nextCursor,
+        // ページに含まれるかどうかにかかわらない、記事の最新のコメント（ETag と Last-Modified に使う）
+        Optional<ArticleCommentEntity> latestComment
+) {
+}
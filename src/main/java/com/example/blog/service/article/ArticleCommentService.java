@@ -1,15 +1,23 @@
 package com.example.blog.service.article;
 
+import com.example.blog.repository.article.ArticleCacheRepository;
 import com.example.blog.repository.article.ArticleCommentRepository;
 import com.example.blog.repository.article.ArticleRepository;
+import com.example.blog.repository.user.UserCacheRepository;
+import com.example.blog.repository.user.UserRepository;
 import com.example.blog.service.DateTimeService;
 import com.example.blog.service.exception.ResourceNotFoundException;
-import com.example.blog.service.user.UserEntity;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -17,33 +25,97 @@ public class ArticleCommentService {
 
     private final ArticleCommentRepository articleCommentRepository;
     private final ArticleRepository articleRepository;
+    private final ArticleCacheRepository articleCacheRepository;
+    private final UserRepository userRepository;
+    private final UserCacheRepository userCacheRepository;
     private final DateTimeService dateTimeService;
 
+    /**
+     * 記事の存在確認を兼ねたコメント数の UPDATE と、コメントの INSERT の2文で作成する。
+     * レスポンスに必要な投稿者の情報はキャッシュから取得し、作成したコメントを SELECT し直さない。
+     */
+    @Transactional
     public ArticleCommentEntity create(
             long userId,
             long articleId,
             @NotNull String body
     ) {
-        articleRepository.selectById(articleId)
+        // 記事の行ロックを取る前に、キャッシュにない投稿者を読み込んでおく
+        var author = userCacheRepository.findById(userId, userRepository::selectById)
                 .orElseThrow(ResourceNotFoundException::new);
 
+        // SELECT し直さずに返すため、TIMESTAMP 列に保存される値（秒単位）にそろえておく
+        var now = dateTimeService.now().truncatedTo(ChronoUnit.SECONDS);
+        // 記事の存在確認を兼ねて、コメントを insert する前にコメント数を加算する。
+        // 記事の行ロックを先に取ることで、reconcileCommentCounts と同時に実行されても数がずれない
+        if (articleRepository.incrementCommentCount(articleId, now) == 0) {
+            throw new ResourceNotFoundException();
+        }
+
         var newComment = new ArticleCommentEntity(
                 null,
                 body,
-                new ArticleEntity(articleId, "", "", null, null, null),
-                new UserEntity(userId, "", "", true),
-                dateTimeService.now()
+                new ArticleEntity(articleId, null, null, null, null, null),
+                author,
+                now
         );
         articleCommentRepository.insert(newComment);
+        articleCacheRepository.evict(articleId);
 
-        return articleCommentRepository
-                .selectById(newComment.getId())
-                .orElseThrow(() -> new IllegalStateException("never reached"));
+        return newComment;
     }
 
-    public List<ArticleCommentEntity> findByArticleId(long articleId) {
-        articleRepository.selectById(articleId)
-                .orElseThrow(ResourceNotFoundException::new);
-        return articleCommentRepository.selectByArticleId(articleId);
+    /**
+     * ID が fromId から toId までの記事について、comment_count と last_commented_at を article_comments から数え直す。
+     *
+     * @return 修正した記事の件数
+     */
+    @Transactional
+    public int reconcileCommentCounts(long fromId, long toId) {
+        // 数え直している間に、対象の記事へのコメントが作成されないようにする
+        articleRepository.lockByIdRange(fromId, toId);
+
+        var drifted = articleRepository.selectCommentCountDrift(fromId, toId);
+        for (var article : drifted) {
+            articleRepository.updateCommentCount(article);
+            articleCacheRepository.evict(article.getId());
+        }
+        return drifted.size();
+    }
+
+    /**
+     * 記事ごとに、古い順に最大 limitPerArticle 件のコメントを取得する。
+     * 戻り値は articleIds の順に並び、コメントがない記事は空のリストになる。
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<ArticleCommentEntity>> findByArticleIds(List<Long> articleIds, int limitPerArticle) {
+        var result = new LinkedHashMap<Long, List<ArticleCommentEntity>>();
+        articleIds.forEach(articleId -> result.put(articleId, new ArrayList<>()));
+
+        var comments = articleCommentRepository.selectByArticleIds(List.copyOf(result.keySet()), limitPerArticle);
+        comments.forEach(comment -> result.get(comment.getArticle().getId()).add(comment));
+        return result;
+    }
+
+    /**
+     * 記事のコメントを古い順に limit 件ずつ取得する。
+     * ETag に使う最新のコメントも同じトランザクションで読み込み、一覧と同じレプリカの同じ時点の値にそろえる。
+     * 記事の存在確認はしないため、呼び出し側で確認しておく（存在しない記事のときは空のページを返す）。
+     */
+    @Transactional(readOnly = true)
+    public ArticleCommentPage findPageByArticleId(long articleId, KeysetCursor cursor, int limit) {
+        var latestComment = articleCommentRepository.selectLatestByArticleId(articleId);
+        if (latestComment.isEmpty()) {
+            return new ArticleCommentPage(List.of(), Optional.empty(), latestComment);
+        }
+
+        // 次のページの有無を判定するために 1 件多く取得する
+        var rows = articleCommentRepository.selectPageByArticleId(articleId, cursor, limit + 1);
+        if (rows.size() <= limit) {
+            return new ArticleCommentPage(rows, Optional.empty(), latestComment);
+        }
+
+        var items = rows.subList(0, limit);
+        return new ArticleCommentPage(items, Optional.of(KeysetCursor.of(items.get(limit - 1))), latestComment);
     }
 }
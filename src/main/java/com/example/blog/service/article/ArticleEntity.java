@@ -14,7 +14,21 @@ public class ArticleEntity {
     private Long id;
     private String title;
     private String body;
+    private String excerpt;
     private UserEntity author;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private int commentCount;
+    private OffsetDateTime lastCommentedAt;
+
+    public ArticleEntity(
+            Long id,
+            String title,
+            String body,
+            UserEntity author,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt
+    ) {
+        this(id, title, body, null, author, createdAt, updatedAt, 0, null);
+    }
 }
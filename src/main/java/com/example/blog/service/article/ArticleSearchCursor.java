@@ -0,0 +1,33 @@
+package com.example.blog.service.article;
+
+import com.example.blog.service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ArticleSearchCursor(
+        int offset
+) {
+
+    // OFFSET の分だけ全文検索の結果を読み飛ばすため、深いページは取得できないようにする
+    public static final int MAX_OFFSET = 1000;
+
+    public static ArticleSearchCursor decode(String value) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var offset = Integer.parseInt(raw);
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new InvalidCursorException();
+            }
+            return new ArticleSearchCursor(offset);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+}
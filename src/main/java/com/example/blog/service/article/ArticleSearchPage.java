@@ -0,0 +1,10 @@
+package com.example.blog.service.article;
+
+import java.util.List;
+import java.util.Optional;
+
+public record ArticleSearchPage(
+        List<ArticleEntity> items,
+        Optional<ArticleSearchCursor> nextCursor
+) {
+}
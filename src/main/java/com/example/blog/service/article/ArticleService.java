@@ -1,6 +1,9 @@
 package com.example.blog.service.article;
 
+import com.example.blog.config.ReplicaRoutingDataSource;
+import com.example.blog.repository.article.ArticleCacheRepository;
 import com.example.blog.repository.article.ArticleRepository;
+import com.example.blog.repository.article.ArticleTitleIndex;
 import com.example.blog.service.DateTimeService;
 import com.example.blog.service.exception.UnauthorizedResourceAccessException;
 import com.example.blog.service.user.UserEntity;
@@ -8,42 +11,112 @@ import com.example.blog.service.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ArticleService {
 
+    static final int EXCERPT_LENGTH = 100;
+
     private final ArticleRepository articleRepository;
+    private final ArticleCacheRepository articleCacheRepository;
+    private final ArticleTitleIndex articleTitleIndex;
     private final DateTimeService dateTimeService;
 
+    @Transactional(readOnly = true)
     public Optional<ArticleEntity> findById(long id) {
-        return articleRepository.selectById(id);
+        // キャッシュに載せた値は他のユーザーにも返すため、遅延しているかもしれないレプリカからは読み込まない
+        return articleCacheRepository.findById(
+                id,
+                articleId -> ReplicaRoutingDataSource.onPrimary(() -> articleRepository.selectById(articleId))
+        );
     }
 
+    /**
+     * 記事を作成し、insert したエンティティをそのまま返す。
+     * 投稿者の情報は呼び出し元（ログインユーザー）から受け取り、作成した記事を SELECT し直さない。
+     */
     @Transactional
-    public ArticleEntity create(long userId, String title, String body) {
-        var timestamp = dateTimeService.now();
+    public ArticleEntity create(UserEntity author, String title, String body) {
+        // SELECT し直さずに返すため、TIMESTAMP 列に保存される値（秒単位）にそろえておく
+        var timestamp = dateTimeService.now().truncatedTo(ChronoUnit.SECONDS);
         var newEntity = new ArticleEntity(
                 null,
                 title,
                 body,
-                new UserEntity(userId, null, null, true),
+                toExcerpt(body),
+                new UserEntity(author.getId(), author.getUsername(), null, author.isEnabled()),
+                timestamp,
                 timestamp,
-                timestamp
+                0,
+                null
         );
         articleRepository.insert(newEntity);
+        articleCacheRepository.evict(newEntity.getId());
+        afterCommit(() -> articleTitleIndex.put(newEntity.getId(), title));
 
-        return articleRepository.selectById(newEntity.getId())
-                .orElseThrow(() -> new IllegalStateException("never reached"));
+        return newEntity;
     }
 
+    @Transactional(readOnly = true)
     public List<ArticleEntity> findAll() {
         return articleRepository.selectAll();
     }
 
+    @Transactional(readOnly = true)
+    public void forEachOrderByCreatedAtDesc(Consumer<ArticleEntity> action) {
+        // カーソルはトランザクション（SqlSession）が開いている間だけ読み込める
+        try (var cursor = articleRepository.selectAllAsCursor()) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ArticlePage findPage(KeysetCursor cursor, int limit) {
+        // 次のページの有無を判定するために 1 件多く取得する
+        var rows = articleRepository.selectPage(cursor, limit + 1);
+        if (rows.size() <= limit) {
+            return new ArticlePage(rows, Optional.empty());
+        }
+
+        var items = rows.subList(0, limit);
+        return new ArticlePage(items, Optional.of(KeysetCursor.of(items.get(limit - 1))));
+    }
+
+    @Transactional(readOnly = true)
+    public ArticleSearchPage search(String keyword, ArticleSearchCursor cursor, int limit) {
+        var offset = cursor != null ? cursor.offset() : 0;
+        // 次のページの有無を判定するために 1 件多く取得する
+        var rows = articleRepository.search(keyword, offset, limit + 1);
+        if (rows.size() <= limit) {
+            return new ArticleSearchPage(rows, Optional.empty());
+        }
+        // 取得できる深さを超えるカーソルは返さない
+        if (offset + limit > ArticleSearchCursor.MAX_OFFSET) {
+            return new ArticleSearchPage(rows.subList(0, limit), Optional.empty());
+        }
+
+        return new ArticleSearchPage(
+                rows.subList(0, limit),
+                Optional.of(new ArticleSearchCursor(offset + limit))
+        );
+    }
+
+    public List<ArticleEntity> findTitleSuggestions(String prefix, int limit) {
+        return articleTitleIndex.findByPrefix(prefix, limit);
+    }
+
     @Transactional
     public ArticleEntity update(
             long loggedInUserId,
@@ -51,7 +124,7 @@ public class ArticleService {
             String updatedTitle,
             String updatedBody
     ) {
-        var entity = findById(articleId)
+        var entity = articleRepository.selectById(articleId)
                 .orElseThrow(ResourceNotFoundException::new);
 
         if (entity.getAuthor().getId() != loggedInUserId) {
@@ -60,15 +133,18 @@ public class ArticleService {
 
         entity.setTitle(updatedTitle);
         entity.setBody(updatedBody);
+        entity.setExcerpt(toExcerpt(updatedBody));
         entity.setUpdatedAt(dateTimeService.now());
         articleRepository.update(entity);
+        articleCacheRepository.evict(articleId);
+        afterCommit(() -> articleTitleIndex.put(articleId, updatedTitle));
 
         return entity;
     }
 
     @Transactional
     public void delete(long loggedInUserId, Long articleId) {
-        var entity = findById(articleId)
+        var entity = articleRepository.selectById(articleId)
                 .orElseThrow(ResourceNotFoundException::new);
 
         if (entity.getAuthor().getId() != loggedInUserId) {
@@ -76,5 +152,28 @@ public class ArticleService {
         }
 
         articleRepository.delete(entity);
+        articleCacheRepository.evict(articleId);
+        afterCommit(() -> articleTitleIndex.remove(articleId));
+    }
+
+    // ロールバックされた変更を索引に反映しないように、コミットされてから実行する
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    static String toExcerpt(String body) {
+        if (body == null || body.codePointCount(0, body.length()) <= EXCERPT_LENGTH) {
+            return body;
+        }
+        return body.substring(0, body.offsetByCodePoints(0, EXCERPT_LENGTH));
     }
 }
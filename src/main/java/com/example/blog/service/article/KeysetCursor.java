@@ -0,0 +1,50 @@
+package com.example.blog.service.article;
+
+import com.example.blog.service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * (created_at, id) の順に並べた一覧の、次のページの開始位置を表すカーソル。記事とコメントの一覧で共通に使う。
+ */
+public record KeysetCursor(
+        OffsetDateTime createdAt,
+        long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor of(ArticleEntity entity) {
+        return new KeysetCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public static KeysetCursor of(ArticleCommentEntity entity) {
+        return new KeysetCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public static KeysetCursor decode(String value) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException();
+            }
+            return new KeysetCursor(
+                    OffsetDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        var raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.blog.service.exception;
+
+public class InvalidCursorException extends RuntimeException {
+}
@@ -0,0 +1,14 @@
+package com.example.blog.service.exception;
+
+/**
+ * 処理を受け付けられないほど混雑しているときに発生する。クライアントは時間をおいて再試行できる。
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    // Retry-After ヘッダーで返す、再試行までの秒数
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public ServiceUnavailableException(Throwable cause) {
+        super(cause);
+    }
+}
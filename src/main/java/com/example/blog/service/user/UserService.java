@@ -1,7 +1,10 @@
 package com.example.blog.service.user;
 
+import com.example.blog.config.ReplicaRoutingDataSource;
 import com.example.blog.repository.file.FileRepository;
+import com.example.blog.repository.user.UserCacheRepository;
 import com.example.blog.repository.user.UserRepository;
+import com.example.blog.repository.user.UsernameFilter;
 import com.example.blog.security.LoggedInUser;
 import com.example.blog.service.exception.ResourceNotFoundException;
 import jakarta.validation.constraints.NotNull;
@@ -16,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCacheRepository userCacheRepository;
+    private final UsernameFilter usernameFilter;
     private final PasswordEncoder passwordEncoder;
     private final FileRepository fileRepository;
 
@@ -23,18 +28,38 @@ public class UserService {
     public UserEntity register(String username, String rawPassword) {
         var encodedPassword = passwordEncoder.encode(rawPassword);
         var newUser = new UserEntity(null, username, encodedPassword, true);
+        // コミット直後に未登録と判定されないように、insert の前にフィルタへ登録する（ロールバックされても偽陽性になるだけ）
+        usernameFilter.put(username);
         userRepository.insert(newUser);
+        // 削除済みの同名ユーザーがキャッシュに残っていても、新しいユーザーを返すようにする
+        userCacheRepository.evict(newUser.getId(), username);
         return newUser;
     }
 
     @Transactional
     public void delete(String username) {
+        // キャッシュを ID でも削除するため、削除する前に ID を取得しておく
+        var userToDelete = userRepository.selectByUsername(username);
         userRepository.deleteByUsername(username);
+        userToDelete.ifPresent(user -> userCacheRepository.evict(user.getId(), username));
+        // usernameFilter からは削除できないため、削除したユーザー名は偽陽性としてデータベースで確認される
     }
 
     @Transactional(readOnly = true)
     public boolean existsUsername(String username) {
-        return userRepository.selectByUsername(username).isPresent();
+        // 未登録と確定できるユーザー名は、データベースに問い合わせない
+        if (!usernameFilter.mightContain(username)) {
+            return false;
+        }
+        // キャッシュに載せた値は他のリクエストにも返すため、遅延しているかもしれないレプリカからは読み込まない
+        var exists = userCacheRepository.findByUsername(
+                username,
+                name -> ReplicaRoutingDataSource.onPrimary(() -> userRepository.selectByUsername(name))
+        ).isPresent();
+        if (!exists) {
+            usernameFilter.recordFalsePositive();
+        }
+        return exists;
     }
 
     public ProfileImageUpload createProfileImageUploadURL(
@@ -49,6 +74,7 @@ public class UserService {
     }
 
     public UserEntity updateProfileImage(String username, @NotNull String imagePath) {
+        // update はパスワードも書き込むため、パスワードを持たないキャッシュではなくデータベースから取得する
         var userToUpdate = userRepository.selectByUsername(username)
                         .orElseThrow(ResourceNotFoundException::new);
 
@@ -62,11 +88,12 @@ public class UserService {
 
         userToUpdate.setImagePath(imagePath);
         userRepository.update(userToUpdate);
+        userCacheRepository.evict(userToUpdate.getId(), username);
         return userToUpdate;
     }
 
     public UserEntity findByUsername(String username) {
-        return userRepository.selectByUsername(username)
+        return userCacheRepository.findByUsername(username, userRepository::selectByUsername)
                 .orElseThrow(ResourceNotFoundException::new);
     }
 }
@@ -1,14 +1,21 @@
 package com.example.blog.web.advise;
 
 import com.example.blog.model.*;
+import com.example.blog.service.exception.InvalidCursorException;
 import com.example.blog.service.exception.UnauthorizedResourceAccessException;
 import com.example.blog.service.exception.ResourceNotFoundException;
+import com.example.blog.service.exception.ServiceUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +26,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
 
 @RestControllerAdvice
 @RequiredArgsConstructor
@@ -55,11 +63,66 @@ public class ExceptionHandlerAdvise {
                 .body(body);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<BadRequest> handleConstraintViolationException(
+            ConstraintViolationException e,
+            HttpServletRequest request
+    ) {
+        var errorDetailList = new ArrayList<ErrorDetail>();
+        for (final ConstraintViolation<?> violation : e.getConstraintViolations()) {
+            String parameterName = null;
+            for (final Path.Node node : violation.getPropertyPath()) {
+                parameterName = node.getName();
+            }
+
+            var errorDetail = new ErrorDetail();
+            errorDetail.setPointer("#/" + parameterName);
+            errorDetail.setDetail(violation.getMessage());
+
+            errorDetailList.add(errorDetail);
+        }
+        return badRequest(errorDetailList, request);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<BadRequest> handleInvalidCursorException(
+            InvalidCursorException e,
+            HttpServletRequest request
+    ) {
+        var errorDetail = new ErrorDetail();
+        errorDetail.setPointer("#/cursor");
+        errorDetail.setDetail("cursor の値が不正です");
+
+        return badRequest(List.of(errorDetail), request);
+    }
+
+    private ResponseEntity<BadRequest> badRequest(
+            List<ErrorDetail> errorDetailList,
+            HttpServletRequest request
+    ) {
+        var body = new BadRequest();
+        body.setTitle(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        body.setStatus(HttpStatus.BAD_REQUEST.value());
+        body.setDetail("Invalid request parameters.");
+        body.setInstance(URI.create(request.getRequestURI()));
+        body.setErrors(errorDetailList);
+        return ResponseEntity
+                .badRequest()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<InternalServerError> handleInternalServerError(
             RuntimeException e,
-            HttpServletRequest request
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
+        if (response.isCommitted()) {
+            // ストリーミング中などでレスポンスを送信済みのときは、500 を書き足さずにコンテナに接続を切断させる
+            log.error("An unexpected error occurred after the response was committed. Aborting the response.", e);
+            throw e;
+        }
         log.error("An unexpected error occurred. Returning InternalServerError to client.", e);
         return ResponseEntity
                 .internalServerError()
@@ -78,6 +141,18 @@ public class ExceptionHandlerAdvise {
                 .body(new NotFound().instance(URI.create(request.getRequestURI())));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ServiceUnavailable> handleServiceUnavailableException(
+            ServiceUnavailableException e,
+            HttpServletRequest request
+    ) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, ServiceUnavailableException.RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(new ServiceUnavailable().instance(URI.create(request.getRequestURI())));
+    }
+
     @ExceptionHandler(UnauthorizedResourceAccessException.class)
     public ResponseEntity<Forbidden> handleUnauthorizedResourceAccessException(
             UnauthorizedResourceAccessException e,
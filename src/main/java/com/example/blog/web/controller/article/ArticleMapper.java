@@ -2,31 +2,47 @@ package com.example.blog.web.controller.article;
 
 import com.example.blog.model.ArticleDTO;
 import com.example.blog.model.ArticleListItemDTO;
+import com.example.blog.model.ArticleSuggestionDTO;
 import com.example.blog.model.UserDTO;
 import com.example.blog.service.article.ArticleEntity;
-import org.springframework.beans.BeanUtils;
+import com.example.blog.service.user.UserEntity;
 
 public class ArticleMapper {
 
     public static ArticleDTO toArticleDTO(ArticleEntity entity) {
-        var userDTO = new UserDTO();
-        BeanUtils.copyProperties(entity.getAuthor(), userDTO);
-
-        var articleDTO = new ArticleDTO();
-        BeanUtils.copyProperties(entity, articleDTO);
-        articleDTO.setAuthor(userDTO);
-
-        return articleDTO;
+        return new ArticleDTO()
+                .id(entity.getId())
+                .title(entity.getTitle())
+                .body(entity.getBody())
+                .author(toUserDTO(entity.getAuthor()))
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .commentCount(entity.getCommentCount())
+                .lastCommentedAt(entity.getLastCommentedAt());
     }
 
     public static ArticleListItemDTO toArticleListItemDTO(ArticleEntity entity) {
-        var userDto = new UserDTO();
-        BeanUtils.copyProperties(entity.getAuthor(), userDto);
+        return new ArticleListItemDTO()
+                .id(entity.getId())
+                .title(entity.getTitle())
+                .excerpt(entity.getExcerpt())
+                .author(toUserDTO(entity.getAuthor()))
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .commentCount(entity.getCommentCount())
+                .lastCommentedAt(entity.getLastCommentedAt());
+    }
 
-        var itemDto = new ArticleListItemDTO();
-        BeanUtils.copyProperties(entity, itemDto);
-        itemDto.setAuthor(userDto);
+    public static ArticleSuggestionDTO toArticleSuggestionDTO(ArticleEntity entity) {
+        return new ArticleSuggestionDTO()
+                .id(entity.getId())
+                .title(entity.getTitle());
+    }
 
-        return itemDto;
+    static UserDTO toUserDTO(UserEntity entity) {
+        return new UserDTO()
+                .id(entity.getId())
+                .username(entity.getUsername())
+                .imagePath(entity.getImagePath());
     }
 }
@@ -3,22 +3,39 @@ package com.example.blog.web.controller.article;
 import com.example.blog.api.ArticlesApi;
 import com.example.blog.model.*;
 import com.example.blog.security.LoggedInUser;
+import com.example.blog.service.article.ArticleCommentEntity;
 import com.example.blog.service.article.ArticleCommentService;
+import com.example.blog.service.article.ArticleSearchCursor;
 import com.example.blog.service.article.ArticleService;
+import com.example.blog.service.article.KeysetCursor;
 import com.example.blog.service.exception.ResourceNotFoundException;
+import com.example.blog.service.user.UserEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 public class ArticleRestController implements ArticlesApi {
 
     private final ArticleService articleService;
     private final ArticleCommentService articleCommentService;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<ArticleDTO> createArticle(ArticleForm form) {
@@ -27,8 +44,14 @@ public class ArticleRestController implements ArticlesApi {
                 .getAuthentication()
                 .getPrincipal();
 
-        var newArticle = articleService.create(
+        var author = new UserEntity(
                 loggedInUser.getUserId(),
+                loggedInUser.getUsername(),
+                null,
+                loggedInUser.isEnabled()
+        );
+        var newArticle = articleService.create(
+                author,
                 form.getTitle(),
                 form.getBody()
         );
@@ -45,25 +68,115 @@ public class ArticleRestController implements ArticlesApi {
     }
 
     @Override
-    public ResponseEntity<ArticleListDTO> listArticles() {
-        var items = articleService.findAll()
+    public ResponseEntity<ArticleListDTO> listArticles(String cursor, Integer limit) {
+        var articleCursor = cursor != null ? KeysetCursor.decode(cursor) : null;
+        var page = articleService.findPage(articleCursor, limit);
+
+        var items = page.items()
+                .stream()
+                .map(ArticleMapper::toArticleListItemDTO)
+                .toList();
+
+        var body = new ArticleListDTO();
+        body.setItems(items);
+        body.setNextCursor(page.nextCursor().map(KeysetCursor::encode).orElse(null));
+
+        return ResponseEntity
+                .ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ArticleListDTO> searchArticles(String q, String cursor, Integer limit) {
+        var searchCursor = cursor != null ? ArticleSearchCursor.decode(cursor) : null;
+        var page = articleService.search(q, searchCursor, limit);
+
+        var items = page.items()
                 .stream()
                 .map(ArticleMapper::toArticleListItemDTO)
                 .toList();
 
         var body = new ArticleListDTO();
         body.setItems(items);
+        body.setNextCursor(page.nextCursor().map(ArticleSearchCursor::encode).orElse(null));
 
         return ResponseEntity
                 .ok(body);
     }
 
+    @Override
+    public ResponseEntity<ArticleSuggestionListDTO> suggestArticles(String prefix, Integer limit) {
+        var suggestions = articleService.findTitleSuggestions(prefix, limit)
+                .stream()
+                .map(ArticleMapper::toArticleSuggestionDTO)
+                .toList();
+
+        var body = new ArticleSuggestionListDTO();
+        body.setSuggestions(suggestions);
+
+        return ResponseEntity
+                .ok(body);
+    }
+
+    @Override
+    public ResponseEntity<ArticleListDTO> streamArticles() {
+        // 一覧をメモリに溜めずに、データベースから読み込んだ記事を1件ずつレスポンスに書き込む
+        var response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        try {
+            // 途中で失敗したときに close で閉じ括弧が補われ、途中までの一覧が正常なレスポンスに見えないようにする。
+            // 出力ストリームも閉じずに、エラーの処理を Spring MVC に任せる
+            var generator = objectMapper.createGenerator(StreamUtils.nonClosing(response.getOutputStream()))
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            try {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("items");
+                articleService.forEachOrderByCreatedAtDesc(entity -> {
+                    try {
+                        generator.writeObject(ArticleMapper.toArticleListItemDTO(entity));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.close();
+            } catch (RuntimeException e) {
+                // まだ送信していなければ、書き込んだ途中までの一覧を捨てて 500 を返せるようにする
+                if (!response.isCommitted()) {
+                    response.resetBuffer();
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // レスポンスは書き込み済みのため、null を返して Spring MVC に処理済みであることを伝える
+        return null;
+    }
+
     @Override
     public ResponseEntity<ArticleDTO> getArticle(Long articleId) {
-        return articleService.findById(articleId)
-                .map(ArticleMapper::toArticleDTO)
-                .map(ResponseEntity::ok)
+        var entity = articleService.findById(articleId)
                 .orElseThrow(ResourceNotFoundException::new);
+
+        // コメントが追加されると commentCount と lastCommentedAt が変わるため、ETag と Last-Modified に含める
+        var lastModified = entity.getLastCommentedAt() != null && entity.getLastCommentedAt().isAfter(entity.getUpdatedAt())
+                ? entity.getLastCommentedAt()
+                : entity.getUpdatedAt();
+        var etag = "W/\"%d-%d-%d\"".formatted(
+                entity.getId(),
+                entity.getUpdatedAt().toInstant().toEpochMilli(),
+                entity.getCommentCount()
+        );
+        if (checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        return ResponseEntity
+                .ok(ArticleMapper.toArticleDTO(entity));
     }
 
     @Override
@@ -128,16 +241,62 @@ public class ArticleRestController implements ArticlesApi {
     }
 
     @Override
-    public ResponseEntity<ArticleCommentListDTO> listArticleComments(Long articleId) {
-        var commentList = articleCommentService.findByArticleId(articleId)
+    public ResponseEntity<ArticleCommentListDTO> listArticleComments(Long articleId, String cursor, Integer limit) {
+        var commentCursor = cursor != null ? KeysetCursor.decode(cursor) : null;
+
+        // コメントは追加のみで更新・削除されないため、最新のコメントでコメント一覧の変更を検知できる。
+        // 一覧と最新のコメントを同じトランザクションで読み込み、遅れているレプリカの一覧に新しい ETag を付けないようにする
+        var page = articleCommentService.findPageByArticleId(articleId, commentCursor, limit);
+        var latestComment = page.latestComment();
+        if (latestComment.isEmpty()) {
+            articleService.findById(articleId)
+                    .orElseThrow(ResourceNotFoundException::new);
+        }
+
+        var etag = "W/\"%d-%d\"".formatted(
+                articleId,
+                latestComment.map(ArticleCommentEntity::getId).orElse(0L)
+        );
+        var lastModified = latestComment.map(ArticleCommentEntity::getCreatedAt).orElse(null);
+        if (checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        var commentList = page.items()
                 .stream()
                 .map(ArticleCommentMapper::toDTO)
                 .toList();
 
         var body = new ArticleCommentListDTO();
         body.comments(commentList);
+        body.nextCursor(page.nextCursor().map(KeysetCursor::encode).orElse(null));
 
         return ResponseEntity
                 .ok(body);
     }
+
+    @Override
+    public ResponseEntity<ArticleCommentBatchDTO> listCommentsByArticleIds(List<Long> articleIds, Integer limit) {
+        var groups = articleCommentService.findByArticleIds(articleIds, limit)
+                .entrySet()
+                .stream()
+                .map(entry -> new ArticleCommentGroupDTO()
+                        .articleId(entry.getKey())
+                        .comments(entry.getValue().stream().map(ArticleCommentMapper::toDTO).toList()))
+                .toList();
+
+        return ResponseEntity
+                .ok(new ArticleCommentBatchDTO().articles(groups));
+    }
+
+    /**
+     * 条件付きリクエストを評価し、304 Not Modified を返せるときは true を返す。
+     * 200 OK を返すときのレスポンスにも ETag と Last-Modified ヘッダーが設定される。
+     */
+    private boolean checkNotModified(String etag, OffsetDateTime lastModified) {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        var webRequest = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+        var lastModifiedTimestamp = lastModified != null ? lastModified.toInstant().toEpochMilli() : -1;
+        return webRequest.checkNotModified(etag, lastModifiedTimestamp);
+    }
 }
@@ -1,8 +1,16 @@
 package com.example.blog.web.filter;
 
+import com.example.blog.model.ServiceUnavailable;
+import com.example.blog.model.TooManyRequests;
+import com.example.blog.security.LoginThrottle;
+import com.example.blog.security.LoginThrottledException;
+import com.example.blog.service.exception.ServiceUnavailableException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,26 +21,53 @@ import org.springframework.security.web.authentication.session.SessionAuthentica
 import org.springframework.security.web.context.SecurityContextRepository;
 
 import java.io.IOException;
+import java.net.URI;
 
 public class JsonUsernamePasswordAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
     private final ObjectMapper objectMapper;
+    private final LoginThrottle loginThrottle;
 
     public JsonUsernamePasswordAuthenticationFilter(
             SecurityContextRepository securityContextRepository,
             SessionAuthenticationStrategy sessionAuthenticationStrategy,
             AuthenticationManager authenticationManager,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            LoginThrottle loginThrottle
     ) {
         super();
         this.objectMapper = objectMapper;
+        this.loginThrottle = loginThrottle;
         setSecurityContextRepository(securityContextRepository);
         setSessionAuthenticationStrategy(sessionAuthenticationStrategy);
         setAuthenticationManager(authenticationManager);
         setAuthenticationSuccessHandler((req, res, auth) -> {
             res.setStatus(HttpServletResponse.SC_OK);
         });
-        setAuthenticationFailureHandler((req, res, auth) -> {
+        setAuthenticationFailureHandler((req, res, e) -> {
+            if (e instanceof LoginThrottledException throttled) {
+                // 秒未満は切り上げる
+                var retryAfterSeconds = Math.max(1, (throttled.getRetryAfter().toMillis() + 999) / 1000);
+                res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                res.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+                objectMapper.writeValue(
+                        res.getOutputStream(),
+                        new TooManyRequests().instance(URI.create(req.getRequestURI()))
+                );
+                return;
+            }
+            // パスワードの照合が混雑で実行できなかったときは、認証の失敗ではなく 503 を返す
+            if (e.getCause() instanceof ServiceUnavailableException) {
+                res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                res.setHeader(HttpHeaders.RETRY_AFTER, ServiceUnavailableException.RETRY_AFTER_SECONDS);
+                res.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+                objectMapper.writeValue(
+                        res.getOutputStream(),
+                        new ServiceUnavailable().instance(URI.create(req.getRequestURI()))
+                );
+                return;
+            }
             res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         });
     }
@@ -51,9 +86,19 @@ public class JsonUsernamePasswordAuthenticationFilter extends UsernamePasswordAu
 
         var username = jsonRequest.username != null ? jsonRequest.username : "";
         var password = jsonRequest.password != null ? jsonRequest.password : "";
+        // 上限に達した試行は、ユーザーの検索やパスワードの照合をせずに拒否する
+        loginThrottle.acquire(username, request.getRemoteAddr());
         var authRequest = UsernamePasswordAuthenticationToken.unauthenticated(username, password);
         setDetails(request, authRequest);
-        return this.getAuthenticationManager().authenticate(authRequest);
+        Authentication authentication;
+        try {
+            authentication = this.getAuthenticationManager().authenticate(authRequest);
+        } catch (ServiceUnavailableException e) {
+            throw new AuthenticationServiceException("password encoder is busy", e);
+        }
+        // 失敗した試行だけがユーザー名ごとの回数に残るようにする
+        loginThrottle.reset(username);
+        return authentication;
     }
 
     private record LoginRequest(String username, String password) {
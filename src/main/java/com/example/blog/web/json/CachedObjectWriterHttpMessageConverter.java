@@ -0,0 +1,48 @@
+package com.example.blog.web.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * レスポンスのクラスごとに {@link ObjectWriter} をキャッシュして、書き込みのたびに生成しないようにする。
+ * キャッシュの対象外（MappingJacksonValue や UTF-8 以外の文字コード）のときは、親クラスの処理に任せる。
+ */
+public class CachedObjectWriterHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public CachedObjectWriterHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        var contentType = outputMessage.getHeaders().getContentType();
+        var charset = contentType != null ? contentType.getCharset() : null;
+        if (object instanceof MappingJacksonValue
+                || (charset != null && !StandardCharsets.UTF_8.equals(charset))) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        var writer = writers.computeIfAbsent(object.getClass(), getObjectMapper()::writerFor);
+        // ジェネレーターを閉じてもレスポンスのストリームは閉じない（後続のフィルターが書き込めるようにする）
+        var body = StreamUtils.nonClosing(outputMessage.getBody());
+        try (var generator = writer.createGenerator(body, JsonEncoding.UTF8)) {
+            writer.writeValue(generator, object);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blog.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} と同じ形式の文字列を、
+ * フォーマッターを使わずに char 配列へ直接書き込むシリアライザー。
+ */
+public class IsoOffsetDateTimeSerializer extends StdSerializer<OffsetDateTime> {
+
+    // yyyy-MM-ddTHH:mm:ss.SSSSSSSSS+HH:MM
+    private static final int MAX_LENGTH = 35;
+
+    public IsoOffsetDateTimeSerializer() {
+        super(OffsetDateTime.class);
+    }
+
+    @Override
+    public void serialize(OffsetDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        var offsetSeconds = value.getOffset().getTotalSeconds();
+        if (value.getYear() < 0 || value.getYear() > 9999 || offsetSeconds % 60 != 0) {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+            return;
+        }
+
+        var buffer = new char[MAX_LENGTH];
+        var position = 0;
+        position = writeDigits(buffer, position, value.getYear(), 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getSecond(), 2);
+
+        var nano = value.getNano();
+        if (nano != 0) {
+            buffer[position++] = '.';
+            var digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            position = writeDigits(buffer, position, nano, digits);
+        }
+
+        if (offsetSeconds == 0) {
+            buffer[position++] = 'Z';
+        } else {
+            buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+            var absOffsetMinutes = Math.abs(offsetSeconds) / 60;
+            position = writeDigits(buffer, position, absOffsetMinutes / 60, 2);
+            buffer[position++] = ':';
+            position = writeDigits(buffer, position, absOffsetMinutes % 60, 2);
+        }
+
+        generator.writeString(buffer, 0, position);
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int width) {
+        for (var i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
@@ -0,0 +1,3 @@
+-- 記事ごとのコメント一覧を ORDER BY created_at, id の順に読むためのインデックス。
+-- article_id の外部キー用に自動作成されたインデックスは、このインデックスで代替されて削除される
+CREATE INDEX idx_article_comments_article_id_created_at_id ON article_comments(article_id, created_at, id);
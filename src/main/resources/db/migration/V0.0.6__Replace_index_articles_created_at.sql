@@ -0,0 +1,2 @@
+CREATE INDEX idx_articles_created_at_id ON articles(created_at, id);
+DROP INDEX idx_articles_created_at ON articles;
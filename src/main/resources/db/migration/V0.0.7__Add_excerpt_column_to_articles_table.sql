@@ -0,0 +1,3 @@
+ALTER TABLE articles ADD COLUMN excerpt VARCHAR(100) AFTER body;
+
+UPDATE articles SET excerpt = LEFT(body, 100);
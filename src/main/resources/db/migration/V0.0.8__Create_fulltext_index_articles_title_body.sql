@@ -0,0 +1,2 @@
+-- 日本語の記事も検索できるように、ngram パーサー（デフォルトの ngram_token_size = 2）で索引を作成する
+CREATE FULLTEXT INDEX ftx_articles_title_body ON articles(title, body) WITH PARSER ngram;
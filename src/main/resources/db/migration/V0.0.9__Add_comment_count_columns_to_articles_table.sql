@@ -0,0 +1,12 @@
+ALTER TABLE articles
+    ADD COLUMN comment_count     INT       NOT NULL DEFAULT 0 AFTER excerpt,
+    ADD COLUMN last_commented_at TIMESTAMP NULL AFTER comment_count;
+
+UPDATE articles a
+JOIN (
+    SELECT article_id, COUNT(*) AS comment_count, MAX(created_at) AS last_commented_at
+    FROM article_comments
+    GROUP BY article_id
+) c ON c.article_id = a.id
+SET a.comment_count     = c.comment_count
+  , a.last_commented_at = c.last_commented_at;
@@ -13,9 +13,9 @@ DELETE FROM articles;
 
 ALTER TABLE articles AUTO_INCREMENT = 1;
 
-INSERT INTO articles (title, body, user_id)
-VALUES ('タイトルです1', '1本文です。', 1)
-     , ('タイトルです2', '2本文です。', 1)
-     , ('タイトルです3', '3本文です。', 2)
+INSERT INTO articles (title, body, excerpt, user_id)
+VALUES ('タイトルです1', '1本文です。', '1本文です。', 1)
+     , ('タイトルです2', '2本文です。', '2本文です。', 1)
+     , ('タイトルです3', '3本文です。', '3本文です。', 2)
 ;
 
@@ -0,0 +1,25 @@
+-- スライディングウィンドウ（ログ方式）のレート制限。すべてのキーが上限未満のときだけ試行を記録する
+-- KEYS[i]                : 制限するキー
+-- ARGV[1]                : 試行を識別する一意な値
+-- ARGV[2i], ARGV[2i + 1] : KEYS[i] の上限回数と、ウィンドウの長さ（ミリ秒）
+-- 戻り値                 : { 上限に達したキーの番号（許可したときは 0）, 再試行できるまでのミリ秒 }
+
+-- ノード間の時計のずれの影響を受けないように、Redis の時刻を使う
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+for i, key in ipairs(KEYS) do
+    local limit = tonumber(ARGV[i * 2])
+    local window = tonumber(ARGV[i * 2 + 1])
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+    if redis.call('ZCARD', key) >= limit then
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        return { i, tonumber(oldest[2]) + window - now }
+    end
+end
+
+for i, key in ipairs(KEYS) do
+    redis.call('ZADD', key, now, ARGV[1])
+    redis.call('PEXPIRE', key, tonumber(ARGV[i * 2 + 1]))
+end
+return { 0, 0 }
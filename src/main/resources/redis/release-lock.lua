@@ -0,0 +1,9 @@
+-- ロックの値が自分の書き込んだ値のときだけ削除する（TTL が切れて別のノードが取得したロックは消さない）
+-- KEYS[1] : ロックのキー
+-- ARGV[1] : ロックを取得したときに書き込んだ値
+-- 戻り値  : 削除したときは 1、削除しなかったときは 0
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
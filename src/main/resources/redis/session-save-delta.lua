@@ -0,0 +1,19 @@
+-- セッションのハッシュに、変更したフィールドだけを書き込む。別のノードで削除・期限切れになったセッションは復活させない
+-- KEYS[1]                : セッションのキー
+-- ARGV[1]                : 有効期限（エポックミリ秒）
+-- ARGV[2i], ARGV[2i + 1] : 書き込むフィールドと値（値が空のときはフィールドを削除する）
+-- 戻り値                 : 書き込んだときは 1、セッションが存在しないときは 0
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return 0
+end
+
+for i = 2, #ARGV, 2 do
+    if ARGV[i + 1] == '' then
+        redis.call('HDEL', KEYS[1], ARGV[i])
+    else
+        redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+    end
+end
+redis.call('PEXPIREAT', KEYS[1], ARGV[1])
+return 1
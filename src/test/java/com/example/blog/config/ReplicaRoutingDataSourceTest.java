@@ -0,0 +1,162 @@
+package com.example.blog.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private final AtomicLong currentTimeMillis = new AtomicLong(1_000_000L);
+    private MockHttpServletRequest request;
+    private ReplicaRoutingDataSource cut;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        var primary = mock(DataSource.class);
+        var replica1 = mock(DataSource.class);
+        var replica2 = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+
+        cut = new ReplicaRoutingDataSource(
+                primary,
+                List.of(replica1, replica2),
+                Duration.ofSeconds(5),
+                currentTimeMillis::get
+        );
+        cut.afterPropertiesSet();
+
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void afterEach() {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("getConnection: トランザクションの外ではプライマリのコネクションを返す")
+    void getConnection_nonTransactional() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.getConnection();
+
+        // ## Assert ##
+        assertThat(actual).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("getConnection: 読み取り専用のトランザクションでは、レプリカのコネクションを順番に返す")
+    void getConnection_readOnly() throws Exception {
+        // ## Arrange ##
+        beginTransaction(true);
+
+        // ## Act ##
+        var actual1 = cut.getConnection();
+        var actual2 = cut.getConnection();
+        var actual3 = cut.getConnection();
+
+        // ## Assert ##
+        assertThat(actual1).isSameAs(replica1Connection);
+        assertThat(actual2).isSameAs(replica2Connection);
+        assertThat(actual3).isSameAs(replica1Connection);
+    }
+
+    @Test
+    @DisplayName("getConnection: 書き込みをコミットしてから一定時間は、読み取り専用のトランザクションでもプライマリのコネクションを返す")
+    void getConnection_readYourWrites() throws Exception {
+        // ## Arrange ##
+        request.getSession(true);
+        beginTransaction(false);
+        var writeConnection = cut.getConnection();
+        commit();
+
+        // ## Act ##
+        beginTransaction(true);
+        var withinWindow = cut.getConnection();
+        currentTimeMillis.addAndGet(Duration.ofSeconds(5).toMillis());
+        var afterWindow = cut.getConnection();
+
+        // ## Assert ##
+        assertThat(writeConnection).isSameAs(primaryConnection);
+        assertThat(withinWindow).isSameAs(primaryConnection);
+        assertThat(afterWindow).isSameAs(replica1Connection);
+    }
+
+    @Test
+    @DisplayName("getConnection: 書き込みがロールバックされたときは、読み取り専用のトランザクションでレプリカのコネクションを返す")
+    void getConnection_readOnlyAfterRollback() throws Exception {
+        // ## Arrange ##
+        request.getSession(true);
+        beginTransaction(false);
+        cut.getConnection();
+        TransactionSynchronizationManager.clear();
+
+        // ## Act ##
+        beginTransaction(true);
+        var actual = cut.getConnection();
+
+        // ## Assert ##
+        assertThat(actual).isSameAs(replica1Connection);
+    }
+
+    @Test
+    @DisplayName("onPrimary: 読み取り専用のトランザクションでも、action の中ではプライマリのコネクションを返す")
+    void getConnection_onPrimary() throws Exception {
+        // ## Arrange ##
+        beginTransaction(true);
+
+        // ## Act ##
+        var onPrimary = ReplicaRoutingDataSource.onPrimary(() -> {
+            try {
+                return cut.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        var afterAction = cut.getConnection();
+
+        // ## Assert ##
+        assertThat(onPrimary).isSameAs(primaryConnection);
+        assertThat(afterAction).isSameAs(replica1Connection);
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.blog.config;
+
+import com.example.blog.security.LoggedInUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionConfigTest {
+
+    private final RedisSerializer<Object> cut = new SessionConfig().springSessionDefaultRedisSerializer();
+
+    @Test
+    @DisplayName("springSessionDefaultRedisSerializer: ログイン中のユーザーのセキュリティコンテキストを JSON で保存・復元できる")
+    void securityContext() {
+        // ## Arrange ##
+        var securityContext = securityContext();
+
+        // ## Act ##
+        var bytes = cut.serialize(securityContext);
+        var actual = cut.deserialize(bytes);
+
+        // ## Assert ##
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).startsWith("{");
+        assertThat(actual).isInstanceOfSatisfying(SecurityContextImpl.class, context -> {
+            assertThat(context.getAuthentication().isAuthenticated()).isTrue();
+            assertThat(context.getAuthentication().getPrincipal()).isInstanceOfSatisfying(LoggedInUser.class, user -> {
+                assertThat(user.getUserId()).isEqualTo(1L);
+                assertThat(user.getUsername()).isEqualTo("test_username");
+                assertThat(user.getPassword()).isNull();
+                assertThat(user.isEnabled()).isTrue();
+            });
+            assertThat(context.getAuthentication().getDetails()).isInstanceOfSatisfying(
+                    WebAuthenticationDetails.class,
+                    details -> assertThat(details.getRemoteAddress()).isEqualTo("127.0.0.1")
+            );
+        });
+    }
+
+    @Test
+    @DisplayName("springSessionDefaultRedisSerializer: パスワードのハッシュが消去されていなくても保存しない")
+    void securityContext_withoutPassword() {
+        // ## Arrange ##
+        var user = new LoggedInUser(1L, "test_username", "$2a$10$test_password_hash", true);
+        var securityContext = new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())
+        );
+
+        // ## Act ##
+        var bytes = cut.serialize(securityContext);
+
+        // ## Assert ##
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).doesNotContain("test_password_hash");
+    }
+
+    @Test
+    @DisplayName("springSessionDefaultRedisSerializer: JDK シリアライズより小さい")
+    void smallerThanJdkSerialization() {
+        // ## Arrange ##
+        var securityContext = securityContext();
+
+        // ## Act ##
+        var json = cut.serialize(securityContext);
+        var jdk = RedisSerializer.java().serialize(securityContext);
+
+        // ## Assert ##
+        assertThat(json.length).isLessThan(jdk.length);
+    }
+
+    @Test
+    @DisplayName("springSessionDefaultRedisSerializer: 切り替え前に JDK シリアライズで保存した値も読み込める")
+    void deserialize_jdkSerialization() {
+        // ## Arrange ##
+        var bytes = RedisSerializer.java().serialize(securityContext());
+
+        // ## Act ##
+        var actual = cut.deserialize(bytes);
+
+        // ## Assert ##
+        assertThat(actual).isInstanceOfSatisfying(SecurityContextImpl.class, context ->
+                assertThat(context.getAuthentication().getName()).isEqualTo("test_username")
+        );
+    }
+
+    @Test
+    @DisplayName("springSessionDefaultRedisSerializer: 書き込み時刻などの数値の属性を保存・復元できる")
+    void longAttribute() {
+        // ## Arrange ##
+        var lastWriteAt = 1_700_000_000_000L;
+
+        // ## Act ##
+        var actual = cut.deserialize(cut.serialize(lastWriteAt));
+
+        // ## Assert ##
+        assertThat(actual).isEqualTo(lastWriteAt);
+    }
+
+    private static SecurityContextImpl securityContext() {
+        var user = new LoggedInUser(1L, "test_username", "test_password", true);
+        user.eraseCredentials();
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", null));
+        return new SecurityContextImpl(authentication);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.config.ArticleCacheProperties;
+import com.example.blog.config.ObjectMapperConfig;
+import com.example.blog.config.SerializationProperties;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import com.example.blog.util.TestDateTimeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig(
+        classes = {
+                ArticleCacheRepository.class,
+                ObjectMapperConfig.class,
+                SimpleMeterRegistry.class,
+        },
+        initializers = ConfigDataApplicationContextInitializer.class
+)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties({ArticleCacheProperties.class, SerializationProperties.class})
+class ArticleCacheRepositoryTest {
+
+    private static final long ARTICLE_ID = 999_999_001L;
+
+    @Autowired
+    private ArticleCacheRepository cut;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ArticleEntity article;
+    private AtomicInteger loadCount;
+    private LongFunction<Optional<ArticleEntity>> loader;
+
+    @BeforeEach
+    void beforeEach() {
+        cut.evict(ARTICLE_ID);
+
+        article = new ArticleEntity(
+                ARTICLE_ID,
+                "test_title",
+                "test_body",
+                "test_body",
+                new UserEntity(1L, "test_username", null, true, null),
+                TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30),
+                TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30),
+                1,
+                TestDateTimeUtil.of(2020, 3, 1, 10, 20, 30)
+        );
+        loadCount = new AtomicInteger();
+        loader = articleId -> {
+            loadCount.incrementAndGet();
+            return Optional.of(article);
+        };
+    }
+
+    @AfterEach
+    void afterEach() {
+        cut.evict(ARTICLE_ID);
+    }
+
+    @Test
+    @DisplayName("findById: 2回目以降はローダーを呼ばずにキャッシュから返す")
+    void findById_cacheHit() {
+        // ## Arrange ##
+        cut.findById(ARTICLE_ID, loader);
+
+        // ## Act ##
+        var actual = cut.findById(ARTICLE_ID, loader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(1);
+        assertThat(actual).hasValueSatisfying(actualArticle ->
+                assertThat(actualArticle).isEqualTo(article)
+        );
+    }
+
+    @Test
+    @DisplayName("findById: ローカルキャッシュに無いときは Redis から復元する")
+    void findById_redisHit() {
+        // ## Arrange ##
+        cut.findById(ARTICLE_ID, loader);
+        cut.evictLocal(ARTICLE_ID);
+        var redisHitBefore = meterRegistry.get("article.cache.redis.gets").tag("result", "hit").counter().count();
+
+        // ## Act ##
+        var actual = cut.findById(ARTICLE_ID, loader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(1);
+        assertThat(actual).hasValueSatisfying(actualArticle -> {
+            assertThat(actualArticle).isEqualTo(article);
+            assertThat(actualArticle.getCreatedAt()).hasToString("2020-01-01T10:20:30+09:00");
+        });
+        assertThat(meterRegistry.get("article.cache.redis.gets").tag("result", "hit").counter().count())
+                .isEqualTo(redisHitBefore + 1);
+    }
+
+    @Test
+    @DisplayName("findById: evict した後はローダーから読み込み直す")
+    void findById_afterEvict() {
+        // ## Arrange ##
+        cut.findById(ARTICLE_ID, loader);
+
+        // ## Act ##
+        cut.evict(ARTICLE_ID);
+        cut.findById(ARTICLE_ID, loader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("findById: 存在しない記事はキャッシュしない")
+    void findById_notCacheEmpty() {
+        // ## Arrange ##
+        LongFunction<Optional<ArticleEntity>> emptyLoader = articleId -> {
+            loadCount.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // ## Act ##
+        var actual1 = cut.findById(ARTICLE_ID, emptyLoader);
+        var actual2 = cut.findById(ARTICLE_ID, emptyLoader);
+
+        // ## Assert ##
+        assertThat(actual1).isEmpty();
+        assertThat(actual2).isEmpty();
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("findById: 返されたエンティティを変更してもキャッシュの値は変わらない")
+    void findById_returnCopy() {
+        // ## Arrange ##
+        cut.findById(ARTICLE_ID, loader).orElseThrow().setTitle("modified_title");
+
+        // ## Act ##
+        var actual = cut.findById(ARTICLE_ID, loader);
+
+        // ## Assert ##
+        assertThat(actual).hasValueSatisfying(actualArticle ->
+                assertThat(actualArticle.getTitle()).isEqualTo("test_title")
+        );
+    }
+}
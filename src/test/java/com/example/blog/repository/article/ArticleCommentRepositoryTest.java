@@ -4,13 +4,22 @@ import com.example.blog.config.MybatisDefaultDatasourceTest;
 import com.example.blog.repository.user.UserRepository;
 import com.example.blog.service.article.ArticleCommentEntity;
 import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.article.KeysetCursor;
 import com.example.blog.service.user.UserEntity;
 import com.example.blog.util.TestDateTimeUtil;
+import com.example.blog.util.TestExplainUtil;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @MybatisDefaultDatasourceTest
@@ -22,6 +31,10 @@ class ArticleCommentRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ArticleRepository articleRepository;
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    @Autowired
+    private DataSource dataSource;
 
     private ArticleEntity article1;
     private ArticleEntity article2;
@@ -178,57 +191,296 @@ class ArticleCommentRepositoryTest {
     }
 
     @Test
-    @DisplayName("selectByArticleId：指定した記事IDにコメントが存在するとき、記事コメントのリストを返す")
-    void selectByArticleId_success() {
+    @DisplayName("selectPageByArticleId：カーソルを指定しないとき、指定した記事のコメントを古い順に limit 件返す")
+    void selectPageByArticleId_firstPage() {
         // ## Arrange ##
         cut.insert(article1Comment1);
         cut.insert(article1Comment2);
         cut.insert(article2Comment1);
 
         // ## Act ##
-        var actual = cut.selectByArticleId(article1.getId());
+        var actual = cut.selectPageByArticleId(article1.getId(), null, 1);
 
         // ## Assert ##
-        assertThat(actual).hasSize(2);
+        assertThat(actual).hasSize(1);
         assertThat(actual.get(0))
                 .usingRecursiveComparison()
-                .ignoringFields("author.password",
-                        "article.author.password")
+                .ignoringFields("author.password", "article")
                 .isEqualTo(article1Comment1);
-        assertThat(actual.get(1))
+        assertThat(actual.get(0).getArticle().getId()).isEqualTo(article1.getId());
+    }
+
+    @Test
+    @DisplayName("selectPageByArticleId：記事の本文や投稿者など、一覧で使わない記事の列は取得しない")
+    void selectPageByArticleId_withoutArticleColumns() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+
+        // ## Act ##
+        var actual = cut.selectPageByArticleId(article1.getId(), null, 1);
+
+        // ## Assert ##
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getArticle())
+                .usingRecursiveComparison()
+                .isEqualTo(new ArticleEntity(article1.getId(), null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("selectPageByArticleId：カーソルを指定したとき、カーソルより後のコメントを返す")
+    void selectPageByArticleId_withCursor() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+        cut.insert(article1Comment2);
+        cut.insert(article2Comment1);
+
+        // ## Act ##
+        var actual = cut.selectPageByArticleId(article1.getId(), KeysetCursor.of(article1Comment1), 10);
+
+        // ## Assert ##
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0))
                 .usingRecursiveComparison()
-                .ignoringFields("author.password",
-                        "article.author.password")
+                .ignoringFields("author.password", "article")
                 .isEqualTo(article1Comment2);
     }
 
     @Test
-    @DisplayName("selectByArticleId：指定した記事IDが存在しないとき、空のリストを返す")
-    void selectByArticleId_invalidArticleId() {
+    @DisplayName("selectPageByArticleId：作成日時が同じコメントは ID の昇順で区切る")
+    void selectPageByArticleId_sameCreatedAt() {
+        // ## Arrange ##
+        var sameCreatedAt = new ArticleCommentEntity(
+                null,
+                "test_comment_body13",
+                article1,
+                article1Comment1.getAuthor(),
+                article1Comment1.getCreatedAt()
+        );
+        cut.insert(article1Comment1);
+        cut.insert(sameCreatedAt);
+        cut.insert(article1Comment2);
+
+        // ## Act ##
+        var actual = cut.selectPageByArticleId(article1.getId(), KeysetCursor.of(article1Comment1), 10);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(sameCreatedAt.getId(), article1Comment2.getId());
+    }
+
+    @Test
+    @DisplayName("selectPageByArticleId：指定した記事IDが存在しないとき、空のリストを返す")
+    void selectPageByArticleId_invalidArticleId() {
         // ## Arrange ##
         cut.insert(article1Comment1);
         cut.insert(article1Comment2);
         cut.insert(article2Comment1);
 
         // ## Act ##
-        var actual = cut.selectByArticleId(0);
+        var actual = cut.selectPageByArticleId(0, null, 10);
 
         // ## Assert ##
         assertThat(actual).isEmpty();
     }
 
     @Test
-    @DisplayName("selectByArticleId：指定した記事IDにコメントが存在しないとき、空のリストを返す")
-    void selectByArticleId_articleDoesNotHaveComments() {
+    @DisplayName("selectPageByArticleId：指定した記事IDにコメントが存在しないとき、空のリストを返す")
+    void selectPageByArticleId_articleDoesNotHaveComments() {
         // ## Arrange ##
         cut.insert(article1Comment1);
         cut.insert(article1Comment2);
         // cut.insert(article2Comment1);
 
         // ## Act ##
-        var actual = cut.selectByArticleId(article2.getId());
+        var actual = cut.selectPageByArticleId(article2.getId(), null, 10);
+
+        // ## Assert ##
+        assertThat(actual).isEmpty();
+    }
+
+    @ParameterizedTest
+    @DisplayName("selectPageByArticleId：複合インデックスを使い、filesort せずにコメントを取得する")
+    @ValueSource(booleans = {false, true})
+    void selectPageByArticleId_explain(boolean withCursor) {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+        cut.insert(article1Comment2);
+        for (var i = 0; i < 30; i++) {
+            cut.insert(new ArticleCommentEntity(
+                    null,
+                    "test_comment_body2x",
+                    article2,
+                    article2Comment1.getAuthor(),
+                    article2Comment1.getCreatedAt().plusMinutes(i)
+            ));
+        }
+
+        var params = new HashMap<String, Object>();
+        params.put("articleId", article1.getId());
+        params.put("cursorCreatedAt", withCursor ? article1Comment1.getCreatedAt() : null);
+        params.put("cursorId", withCursor ? article1Comment1.getId() : null);
+        params.put("limit", 21);
+
+        // ## Act ##
+        var actual = TestExplainUtil.explain(
+                sqlSessionFactory,
+                dataSource,
+                ArticleCommentRepository.class.getName() + ".__selectPageByArticleId",
+                params
+        );
+
+        // ## Assert ##
+        assertThat(actual)
+                .filteredOn(row -> "ac".equals(row.get("table")))
+                .singleElement()
+                .satisfies(row -> assertThat(row.get("key")).isEqualTo("idx_article_comments_article_id_created_at_id"));
+        assertThat(actual)
+                .extracting(row -> String.valueOf(row.get("Extra")))
+                .noneMatch(extra -> extra.contains("Using filesort"));
+    }
+
+    @Test
+    @DisplayName("selectLatestByArticleId：指定した記事IDの最新のコメントの ID と作成日時を返す")
+    void selectLatestByArticleId_success() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+        cut.insert(article1Comment2);
+        cut.insert(article2Comment1);
+
+        // ## Act ##
+        var actual = cut.selectLatestByArticleId(article1.getId());
+
+        // ## Assert ##
+        assertThat(actual).hasValueSatisfying(actualEntity -> {
+            assertThat(actualEntity.getId()).isEqualTo(article1Comment2.getId());
+            assertThat(actualEntity.getCreatedAt()).isEqualTo(article1Comment2.getCreatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("selectLatestByArticleId：複合インデックスを逆順に使い、filesort せずに最新のコメントを取得する")
+    void selectLatestByArticleId_explain() {
+        // ## Arrange ##
+        for (var i = 0; i < 30; i++) {
+            cut.insert(new ArticleCommentEntity(
+                    null,
+                    "test_comment_body1x",
+                    article1,
+                    article1Comment1.getAuthor(),
+                    article1Comment1.getCreatedAt().plusMinutes(i)
+            ));
+        }
+
+        var params = new HashMap<String, Object>();
+        params.put("articleId", article1.getId());
+
+        // ## Act ##
+        var actual = TestExplainUtil.explain(
+                sqlSessionFactory,
+                dataSource,
+                ArticleCommentRepository.class.getName() + ".selectLatestByArticleId",
+                params
+        );
+
+        // ## Assert ##
+        assertThat(actual)
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.get("key")).isEqualTo("idx_article_comments_article_id_created_at_id");
+                    assertThat(String.valueOf(row.get("Extra"))).contains("Backward index scan");
+                    assertThat(String.valueOf(row.get("Extra"))).doesNotContain("Using filesort");
+                });
+    }
+
+    @Test
+    @DisplayName("selectLatestByArticleId：指定した記事IDにコメントが存在しないとき、空の Optional を返す")
+    void selectLatestByArticleId_returnEmpty() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+
+        // ## Act ##
+        var actual = cut.selectLatestByArticleId(article2.getId());
 
         // ## Assert ##
         assertThat(actual).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("selectByArticleIds：指定した記事ごとに、古い順に limit 件のコメントを返す")
+    void selectByArticleIds_success() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+        cut.insert(article1Comment2);
+        cut.insert(article2Comment1);
+
+        // ## Act ##
+        var actual = cut.selectByArticleIds(List.of(article1.getId(), article2.getId()), 1);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(article1Comment1.getId(), article2Comment1.getId());
+        assertThat(actual.get(0).getArticle().getId()).isEqualTo(article1.getId());
+        assertThat(actual.get(0).getBody()).isEqualTo("test_comment_body11");
+        assertThat(actual.get(0).getCreatedAt()).isEqualTo(article1Comment1.getCreatedAt());
+        assertThat(actual.get(0).getAuthor().getUsername()).isEqualTo("test_username11");
+    }
+
+    @Test
+    @DisplayName("selectByArticleIds：指定していない記事のコメントは返さない")
+    void selectByArticleIds_filterByArticleIds() {
+        // ## Arrange ##
+        cut.insert(article1Comment1);
+        cut.insert(article1Comment2);
+        cut.insert(article2Comment1);
+
+        // ## Act ##
+        var actual = cut.selectByArticleIds(List.of(article1.getId()), 10);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(article1Comment1.getId(), article1Comment2.getId());
+    }
+
+    @Test
+    @DisplayName("selectByArticleIds：連番はインデックスだけで振り、本文を読むのは主キーで絞り込んだ行だけにする")
+    void selectByArticleIds_explain() {
+        // ## Arrange ##
+        for (var i = 0; i < 30; i++) {
+            cut.insert(new ArticleCommentEntity(
+                    null,
+                    "test_comment_body2x",
+                    article2,
+                    article2Comment1.getAuthor(),
+                    article2Comment1.getCreatedAt().plusMinutes(i)
+            ));
+        }
+
+        var params = new HashMap<String, Object>();
+        params.put("articleIds", List.of(article1.getId(), article2.getId()));
+        params.put("limit", 3);
+
+        // ## Act ##
+        var actual = TestExplainUtil.explain(
+                sqlSessionFactory,
+                dataSource,
+                ArticleCommentRepository.class.getName() + ".selectByArticleIds",
+                params
+        );
+
+        // ## Assert ##
+        assertThat(actual)
+                .filteredOn(row -> "c".equals(row.get("table")))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.get("key")).isEqualTo("idx_article_comments_article_id_created_at_id");
+                    assertThat(String.valueOf(row.get("Extra"))).contains("Using index");
+                });
+        assertThat(actual)
+                .filteredOn(row -> "ac".equals(row.get("table")))
+                .singleElement()
+                .satisfies(row -> assertThat(row.get("key")).isEqualTo("PRIMARY"));
+    }
+}
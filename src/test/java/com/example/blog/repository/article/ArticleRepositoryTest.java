@@ -3,12 +3,15 @@ package com.example.blog.repository.article;
 import com.example.blog.config.MybatisDefaultDatasourceTest;
 import com.example.blog.repository.user.UserRepository;
 import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.article.KeysetCursor;
 import com.example.blog.service.user.UserEntity;
 import com.example.blog.util.TestDateTimeUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -162,6 +165,143 @@ class ArticleRepositoryTest {
                 .isEqualTo(expectedArticle1);
     }
 
+    @Test
+    @DisplayName("selectPage: カーソルより後ろの記事を created_at, id の降順で limit 件返す")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            DELETE FROM users;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (1, 'test_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, created_at, updated_at)
+            VALUES (1, 1, 'title_1', 'body_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (2, 1, 'title_2', 'body_2', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (3, 1, 'title_3', 'body_3', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (4, 1, 'title_4', 'body_4', '2010-10-03 00:00:00', '2010-10-03 00:00:00');
+            """
+    })
+    void selectPage_returnArticlesAfterCursor() {
+        // ## Arrange ##
+        var cursor = new KeysetCursor(TestDateTimeUtil.of(2010, 10, 2, 0, 0, 0), 3);
+
+        // ## Act ##
+        var firstPage = cut.selectPage(null, 2);
+        var actual = cut.selectPage(cursor, 2);
+
+        // ## Assert ##
+        assertThat(firstPage)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(4L, 3L);
+        assertThat(actual)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("selectPage: 記事本文を読み込まず、抜粋を返す")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            DELETE FROM users;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (1, 'test_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, excerpt, created_at, updated_at)
+            VALUES (1, 1, 'title_1', 'body_1', 'excerpt_1', '2010-10-01 00:00:00', '2010-11-01 00:00:00');
+            """
+    })
+    void selectPage_returnExcerptWithoutBody() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.selectPage(null, 10);
+
+        // ## Assert ##
+        assertThat(actual).singleElement().satisfies(article -> {
+            assertThat(article.getId()).isEqualTo(1);
+            assertThat(article.getTitle()).isEqualTo("title_1");
+            assertThat(article.getBody()).isNull();
+            assertThat(article.getExcerpt()).isEqualTo("excerpt_1");
+            assertThat(article.getCreatedAt()).isEqualTo("2010-10-01T00:00:00+09:00");
+            assertThat(article.getUpdatedAt()).isEqualTo("2010-11-01T00:00:00+09:00");
+            assertThat(article.getAuthor().getId()).isEqualTo(1);
+            assertThat(article.getAuthor().getUsername()).isEqualTo("test_user1");
+        });
+    }
+
+    // FULLTEXT インデックスはコミットされた行しか検索できないため、トランザクションの外でデータを投入する
+    @Test
+    @DisplayName("search: キーワードを含む記事を関連度の高い順に返す")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (999901, 'test_search_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, excerpt, created_at, updated_at)
+            VALUES (999901, 999901, 'その他', '今日はぬるぽに遭遇した', 'excerpt_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (999902, 999901, 'ぬるぽ入門', 'ぬるぽ ぬるぽ ぬるぽ', 'excerpt_2', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (999903, 999901, 'ガッ', '関係のない記事', 'excerpt_3', '2010-10-03 00:00:00', '2010-10-03 00:00:00');
+            """
+    })
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            """
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void search_returnArticlesOrderByRelevance() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.search("ぬるぽ", 0, 10);
+        var secondPage = cut.search("ぬるぽ", 1, 10);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(999902L, 999901L);
+        assertThat(actual.get(0).getBody()).isNull();
+        assertThat(actual.get(0).getExcerpt()).isEqualTo("excerpt_2");
+        assertThat(actual.get(0).getAuthor().getUsername()).isEqualTo("test_search_user1");
+        assertThat(secondPage)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(999901L);
+    }
+
+    @Test
+    @DisplayName("incrementCommentCount: comment_count を加算し、last_commented_at を新しい方の日時にする")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            DELETE FROM users;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (1, 'test_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, created_at, updated_at)
+            VALUES (1, 1, 'title_1', 'body_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00');
+            """
+    })
+    void incrementCommentCount_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var updated1 = cut.incrementCommentCount(1, TestDateTimeUtil.of(2010, 10, 3, 0, 0, 0));
+        var updated2 = cut.incrementCommentCount(1, TestDateTimeUtil.of(2010, 10, 2, 0, 0, 0));
+        var notFound = cut.incrementCommentCount(999, TestDateTimeUtil.of(2010, 10, 2, 0, 0, 0));
+
+        // ## Assert ##
+        assertThat(updated1).isEqualTo(1);
+        assertThat(updated2).isEqualTo(1);
+        assertThat(notFound).isZero();
+        assertThat(cut.selectById(1)).hasValueSatisfying(article -> {
+            assertThat(article.getCommentCount()).isEqualTo(2);
+            assertThat(article.getLastCommentedAt()).isEqualTo("2010-10-03T00:00:00+09:00");
+        });
+    }
+
     @Test
     @DisplayName("update: 記事の title/body/updated_at を更新できる")
     void update_success() {
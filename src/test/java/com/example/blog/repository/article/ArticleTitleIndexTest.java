@@ -0,0 +1,210 @@
+package com.example.blog.repository.article;
+
+import com.example.blog.config.ArticleSuggestProperties;
+import com.example.blog.config.MybatisDefaultDatasourceTest;
+import com.example.blog.service.article.ArticleEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@MybatisDefaultDatasourceTest
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+class ArticleTitleIndexTest {
+
+    private static final int MAX_ENTRIES = 3;
+    private static final ArticleSuggestProperties PROPERTIES =
+            new ArticleSuggestProperties(MAX_ENTRIES, "test-article-title-index:update");
+
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ArticleTitleIndex cut;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new ArticleTitleIndex(articleRepository, redisTemplate, PROPERTIES, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("findByPrefix: タイトルが prefix で始まる記事を辞書順に limit 件返す")
+    void findByPrefix_returnArticlesStartWithPrefix() {
+        // ## Arrange ##
+        cut.put(1, "Spring Security");
+        cut.put(2, "Redis");
+        cut.put(3, "Spring Boot");
+
+        // ## Act ##
+        var actual = cut.findByPrefix("spring", 10);
+        var limited = cut.findByPrefix("spring", 1);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleEntity::getId, ArticleEntity::getTitle)
+                .containsExactly(
+                        tuple(3L, "Spring Boot"),
+                        tuple(1L, "Spring Security")
+                );
+        assertThat(limited)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("findByPrefix: 英字の大文字・小文字、全角・半角を区別しない")
+    void findByPrefix_normalize() {
+        // ## Arrange ##
+        cut.put(1, "ＳＰＲＩＮＧ 入門");
+
+        // ## Act ##
+        var actual = cut.findByPrefix("spring", 10);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleEntity::getTitle)
+                .containsExactly("ＳＰＲＩＮＧ 入門");
+    }
+
+    @Test
+    @DisplayName("put: 同じ ID の記事を登録したとき、古いタイトルを索引から外す")
+    void put_replaceTitle() {
+        // ## Arrange ##
+        cut.put(1, "Spring");
+
+        // ## Act ##
+        cut.put(1, "Redis");
+
+        // ## Assert ##
+        assertThat(cut.findByPrefix("spring", 10)).isEmpty();
+        assertThat(cut.findByPrefix("redis", 10))
+                .extracting(ArticleEntity::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("put: 件数の上限を超えたとき、ID の小さい記事から索引から外す")
+    void put_evictOldest() {
+        // ## Arrange ##
+
+        // ## Act ##
+        cut.put(2, "title_2");
+        cut.put(1, "title_1");
+        cut.put(3, "title_3");
+        cut.put(4, "title_4");
+
+        // ## Assert ##
+        assertThat(cut.findByPrefix("title", 10))
+                .extracting(ArticleEntity::getId)
+                .containsExactly(2L, 3L, 4L);
+        assertThat(meterRegistry.get("article.title.index.entries").gauge().value()).isEqualTo(MAX_ENTRIES);
+    }
+
+    @Test
+    @DisplayName("remove: 索引から外した記事のメモリ使用量の見積もりを差し引く")
+    void remove_decreaseEstimatedMemory() {
+        // ## Arrange ##
+        cut.put(1, "title_1");
+        var memoryAfterPut = meterRegistry.get("article.title.index.memory").gauge().value();
+
+        // ## Act ##
+        cut.remove(1);
+
+        // ## Assert ##
+        assertThat(memoryAfterPut).isPositive();
+        assertThat(meterRegistry.get("article.title.index.memory").gauge().value()).isZero();
+        assertThat(meterRegistry.get("article.title.index.entries").gauge().value()).isZero();
+        assertThat(cut.findByPrefix("title", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("load: 新しい記事から上限の件数までタイトルを読み込む")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            DELETE FROM users;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (1, 'test_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, created_at, updated_at)
+            VALUES (1, 1, 'title_1', 'body_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (2, 1, 'title_2', 'body_2', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (3, 1, 'title_3', 'body_3', '2010-10-03 00:00:00', '2010-10-03 00:00:00')
+                 , (4, 1, 'title_4', 'body_4', '2010-10-04 00:00:00', '2010-10-04 00:00:00');
+            """
+    })
+    void load_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        cut.load();
+
+        // ## Assert ##
+        assertThat(cut.findByPrefix("title", 10))
+                .extracting(ArticleEntity::getId)
+                .containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("handleMessage: 他のノードで登録・削除した記事を索引に反映する")
+    void handleMessage_fromOtherNode() {
+        // ## Arrange ##
+        cut.put(2, "Redis");
+
+        // ## Act ##
+        cut.handleMessage("other_node:put:1:Spring: 入門");
+        cut.handleMessage("other_node:remove:2");
+
+        // ## Assert ##
+        assertThat(cut.findByPrefix("spring", 10))
+                .extracting(ArticleEntity::getId, ArticleEntity::getTitle)
+                .containsExactly(tuple(1L, "Spring: 入門"));
+        assertThat(cut.findByPrefix("redis", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("load: 読み込み中に削除・更新された記事は、読み込んだ古い値で索引に戻さない")
+    void load_changedWhileLoading() {
+        // ## Arrange ##
+        var mockArticleRepository = mock(ArticleRepository.class);
+        var index = new ArticleTitleIndex(mockArticleRepository, redisTemplate, PROPERTIES, new SimpleMeterRegistry());
+        when(mockArticleRepository.selectPage(any(), anyInt())).thenAnswer(invocation -> {
+            // 1ページ目を読み込んだ後、索引に登録する前に削除・更新された
+            index.remove(1);
+            index.put(2, "title_2_updated");
+            return List.of(article(1, "title_1"), article(2, "title_2"));
+        });
+
+        // ## Act ##
+        index.load();
+
+        // ## Assert ##
+        assertThat(index.findByPrefix("title", 10))
+                .extracting(ArticleEntity::getId, ArticleEntity::getTitle)
+                .containsExactly(tuple(2L, "title_2_updated"));
+    }
+
+    private static ArticleEntity article(long id, String title) {
+        var article = new ArticleEntity();
+        article.setId(id);
+        article.setTitle(title);
+        return article;
+    }
+}
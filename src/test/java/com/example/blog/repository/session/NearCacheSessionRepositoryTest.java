@@ -0,0 +1,249 @@
+package com.example.blog.repository.session;
+
+import com.example.blog.config.SessionConfig;
+import com.example.blog.config.SessionNearCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.data.redis.RedisSessionRepository;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@SpringJUnitConfig(initializers = ConfigDataApplicationContextInitializer.class)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+class NearCacheSessionRepositoryTest {
+
+    private static final String NAMESPACE = "test-spring:session";
+    private static final String CHANNEL = "test-session-cache:evict";
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    // 同じ Redis を使う 2 つのノードを想定する
+    private NearCacheSessionRepository node1;
+    private NearCacheSessionRepository node2;
+    private RedisMessageListenerContainer node2Container;
+
+    @BeforeEach
+    void beforeEach() {
+        var keys = redisTemplate.keys(NAMESPACE + ":*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+
+        node1 = nearCacheSessionRepository();
+        node2 = nearCacheSessionRepository();
+        node2Container = new RedisMessageListenerContainer();
+        node2Container.setConnectionFactory(redisConnectionFactory);
+        node2Container.addMessageListener(
+                (message, pattern) -> node2.handleInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL)
+        );
+        node2Container.afterPropertiesSet();
+        node2Container.start();
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        node2Container.stop();
+        node2Container.destroy();
+    }
+
+    @Test
+    @DisplayName("findById: キャッシュに載っているセッションは Redis から読み込まない")
+    void findById_cacheHit() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        session.setAttribute("test_attribute", "test_value");
+        node1.save(session);
+        node1.findById(session.getId());
+        redisTemplate.delete(NAMESPACE + ":sessions:" + session.getId());
+
+        // ## Act ##
+        var actual = node1.findById(session.getId());
+
+        // ## Assert ##
+        assertThat(actual).isNotNull();
+        assertThat((String) actual.getAttribute("test_attribute")).isEqualTo("test_value");
+    }
+
+    @Test
+    @DisplayName("findById: ログイン済みのセッションは、確認の間隔が経った後に Redis から削除されていれば返さない")
+    void findById_authenticatedSessionDeleted() {
+        // ## Arrange ##
+        var cut = nearCacheSessionRepository(Duration.ZERO);
+        var session = cut.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, "test_value");
+        cut.save(session);
+        cut.findById(session.getId());
+        // 削除の通知が届かなかった場合を想定して、Redis から直接削除する
+        redisTemplate.delete(NAMESPACE + ":sessions:" + session.getId());
+
+        // ## Act ##
+        var actual = cut.findById(session.getId());
+
+        // ## Assert ##
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    @DisplayName("findById: ログイン済みのセッションでも、確認の間隔が経つまでは Redis に問い合わせない")
+    void findById_authenticatedSessionWithinCheckInterval() {
+        // ## Arrange ##
+        var cut = nearCacheSessionRepository(Duration.ofMinutes(1));
+        var session = cut.createSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, "test_value");
+        cut.save(session);
+        cut.findById(session.getId());
+        redisTemplate.delete(NAMESPACE + ":sessions:" + session.getId());
+
+        // ## Act ##
+        var actual = cut.findById(session.getId());
+
+        // ## Assert ##
+        assertThat(actual).isNotNull();
+    }
+
+    @Test
+    @DisplayName("save: キャッシュから読み込んだセッションの変更を Redis に書き込む")
+    void save_cacheHit() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        session.setAttribute("test_attribute", "test_value");
+        node1.save(session);
+        var cached = node1.findById(session.getId());
+
+        // ## Act ##
+        cached.setAttribute("test_attribute", "updated_value");
+        node1.save(cached);
+
+        // ## Assert ##
+        var actual = nearCacheSessionRepository().findById(session.getId());
+        assertThat((String) actual.getAttribute("test_attribute")).isEqualTo("updated_value");
+    }
+
+    @Test
+    @DisplayName("save: 別のノードで削除されたセッションは復活させない")
+    void save_deleted() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        node1.save(session);
+        var cached = node1.findById(session.getId());
+        node2.deleteById(session.getId());
+
+        // ## Act & Assert ##
+        cached.setAttribute("test_attribute", "test_value");
+        assertThatThrownBy(() -> node1.save(cached)).isInstanceOf(IllegalStateException.class);
+        assertThat(redisTemplate.hasKey(NAMESPACE + ":sessions:" + session.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("save: 属性を変更したときは、他のノードのキャッシュを削除する")
+    void save_evictOtherNodes() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        session.setAttribute("test_attribute", "test_value");
+        node1.save(session);
+        node2.findById(session.getId());
+
+        // ## Act ##
+        var loaded = node1.findById(session.getId());
+        loaded.setAttribute("test_attribute", "updated_value");
+        node1.save(loaded);
+
+        // ## Assert ##
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat((String) node2.findById(session.getId()).getAttribute("test_attribute"))
+                        .isEqualTo("updated_value")
+        );
+    }
+
+    @Test
+    @DisplayName("deleteById: 他のノードのキャッシュからも削除する")
+    void deleteById_evictOtherNodes() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        node1.save(session);
+        node2.findById(session.getId());
+
+        // ## Act ##
+        node1.deleteById(session.getId());
+
+        // ## Assert ##
+        assertThat(node1.findById(session.getId())).isNull();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(node2.findById(session.getId())).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("changeSessionId: キャッシュから読み込んだセッションの ID を変更すると、古い ID では読み込めなくなる")
+    void changeSessionId() {
+        // ## Arrange ##
+        var session = node1.createSession();
+        session.setAttribute("test_attribute", "test_value");
+        node1.save(session);
+        var oldId = session.getId();
+        node2.findById(oldId);
+        var cached = node1.findById(oldId);
+
+        // ## Act ##
+        var newId = cached.changeSessionId();
+        node1.save(cached);
+
+        // ## Assert ##
+        assertThat(newId).isNotEqualTo(oldId);
+        assertThat(node1.findById(oldId)).isNull();
+        assertThat((String) node1.findById(newId).getAttribute("test_attribute")).isEqualTo("test_value");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(node2.findById(oldId)).isNull()
+        );
+    }
+
+    private NearCacheSessionRepository nearCacheSessionRepository() {
+        return nearCacheSessionRepository(Duration.ofMinutes(1));
+    }
+
+    private NearCacheSessionRepository nearCacheSessionRepository(Duration existenceCheckInterval) {
+        var serializer = new SessionConfig().springSessionDefaultRedisSerializer();
+        var sessionRedisTemplate = new RedisTemplate<String, Object>();
+        sessionRedisTemplate.setConnectionFactory(redisConnectionFactory);
+        sessionRedisTemplate.setKeySerializer(RedisSerializer.string());
+        sessionRedisTemplate.setHashKeySerializer(RedisSerializer.string());
+        sessionRedisTemplate.setValueSerializer(serializer);
+        sessionRedisTemplate.setHashValueSerializer(serializer);
+        sessionRedisTemplate.afterPropertiesSet();
+        var redisSessionRepository = new RedisSessionRepository(sessionRedisTemplate);
+        redisSessionRepository.setRedisKeyNamespace(NAMESPACE);
+
+        return new NearCacheSessionRepository(
+                redisSessionRepository,
+                serializer,
+                redisTemplate,
+                NAMESPACE,
+                new SessionNearCacheProperties(true, 100, Duration.ofMinutes(1), existenceCheckInterval, CHANNEL),
+                new SimpleMeterRegistry()
+        );
+    }
+}
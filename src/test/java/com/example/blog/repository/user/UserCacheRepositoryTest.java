@@ -0,0 +1,208 @@
+package com.example.blog.repository.user;
+
+import com.example.blog.config.UserCacheProperties;
+import com.example.blog.service.user.UserEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringJUnitConfig(
+        classes = {
+                UserCacheRepository.class,
+                SimpleMeterRegistry.class,
+        },
+        initializers = ConfigDataApplicationContextInitializer.class
+)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties(UserCacheProperties.class)
+class UserCacheRepositoryTest {
+
+    private static final long USER_ID = 999_999_001L;
+    private static final String USERNAME = "test_cache_username";
+
+    @Autowired
+    private UserCacheRepository cut;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AtomicInteger loadCount;
+    private LongFunction<Optional<UserEntity>> idLoader;
+    private Function<String, Optional<UserEntity>> usernameLoader;
+
+    @BeforeEach
+    void beforeEach() {
+        cut.evictLocal(USER_ID, USERNAME);
+
+        loadCount = new AtomicInteger();
+        idLoader = userId -> {
+            loadCount.incrementAndGet();
+            return Optional.of(newUser());
+        };
+        usernameLoader = username -> {
+            loadCount.incrementAndGet();
+            return Optional.of(newUser());
+        };
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cut.evictLocal(USER_ID, USERNAME);
+    }
+
+    @Test
+    @DisplayName("findById: 2回目以降はローダーを呼ばずにキャッシュから返す")
+    void findById_cacheHit() {
+        // ## Arrange ##
+        cut.findById(USER_ID, idLoader);
+
+        // ## Act ##
+        var actual = cut.findById(USER_ID, idLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(1);
+        assertThat(actual).hasValueSatisfying(user -> {
+            assertThat(user.getId()).isEqualTo(USER_ID);
+            assertThat(user.getUsername()).isEqualTo(USERNAME);
+            assertThat(user.getImagePath()).isEqualTo("users/1/profile-image");
+        });
+    }
+
+    @Test
+    @DisplayName("findByUsername: ID で読み込んだユーザーをユーザー名でも引ける")
+    void findByUsername_cacheHitById() {
+        // ## Arrange ##
+        cut.findById(USER_ID, idLoader);
+        var hitBefore = meterRegistry.get("cache.gets").tag("cache", "user.local.username").tag("result", "hit")
+                .functionCounter().count();
+
+        // ## Act ##
+        var actual = cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(1);
+        assertThat(actual).hasValueSatisfying(user -> assertThat(user.getId()).isEqualTo(USER_ID));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user.local.username").tag("result", "hit")
+                .functionCounter().count())
+                .isEqualTo(hitBefore + 1);
+    }
+
+    @Test
+    @DisplayName("findByUsername: パスワードはキャッシュせず、null にして返す")
+    void findByUsername_withoutPassword() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var loaded = cut.findByUsername(USERNAME, usernameLoader);
+        var cached = cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Assert ##
+        assertThat(loaded).hasValueSatisfying(user -> assertThat(user.getPassword()).isNull());
+        assertThat(cached).hasValueSatisfying(user -> assertThat(user.getPassword()).isNull());
+    }
+
+    @Test
+    @DisplayName("findByUsername: ユーザーが存在しないときはキャッシュしない")
+    void findByUsername_notFound() {
+        // ## Arrange ##
+        Function<String, Optional<UserEntity>> emptyLoader = username -> {
+            loadCount.incrementAndGet();
+            return Optional.empty();
+        };
+
+        // ## Act ##
+        var first = cut.findByUsername(USERNAME, emptyLoader);
+        var second = cut.findByUsername(USERNAME, emptyLoader);
+
+        // ## Assert ##
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("findByUsername: ロールバックされたトランザクションで読み込んだ値はキャッシュに残さない")
+    void findByUsername_evictOnRollback() {
+        // ## Arrange ##
+        TransactionSynchronizationManager.initSynchronization();
+        cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Act ##
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("evict: 削除した後は ID でもユーザー名でもローダーから読み込み直す")
+    void evict() {
+        // ## Arrange ##
+        cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Act ##
+        cut.evict(USER_ID, USERNAME);
+        cut.findById(USER_ID, idLoader);
+        cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("evictLocal: ユーザー名から ID への対応がなくても、ID のエントリを削除する")
+    void evictLocal_withoutUsernameEntry() {
+        // ## Arrange ##
+        cut.findById(USER_ID, idLoader);
+        // ユーザー名から ID への対応だけが先に消えた状態にしておく
+        cut.evictLocal(0L, USERNAME);
+
+        // ## Act ##
+        cut.evictLocal(USER_ID, USERNAME);
+        cut.findById(USER_ID, idLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("handleInvalidation: 他のノードから届いた通知の ID とユーザー名で削除する")
+    void handleInvalidation() {
+        // ## Arrange ##
+        cut.findByUsername(USERNAME, usernameLoader);
+
+        // ## Act ##
+        cut.handleInvalidation(USER_ID + ":" + USERNAME);
+        cut.findById(USER_ID, idLoader);
+
+        // ## Assert ##
+        assertThat(loadCount).hasValue(2);
+    }
+
+    private static UserEntity newUser() {
+        return new UserEntity(USER_ID, USERNAME, "test_password", true, "users/1/profile-image");
+    }
+}
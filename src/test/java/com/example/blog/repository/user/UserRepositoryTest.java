@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.jdbc.Sql;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @MybatisDefaultDatasourceTest
 class UserRepositoryTest {
@@ -72,6 +73,40 @@ class UserRepositoryTest {
         assertThat(actual).isEmpty();
     }
 
+    @Test
+    @DisplayName("selectById: 指定されたIDのユーザーが存在するとき、Optional<UserEntity> を返す")
+    @Sql(statements = {
+            "INSERT INTO users (id, username, password, enabled, image_path) VALUES (999, 'test_user_1', 'test_user_1_pass', true, 'users/999/profile-image');",
+            "INSERT INTO users (id, username, password, enabled, image_path) VALUES (998, 'test_user_2', 'test_user_2_pass', true, 'users/998/profile-image');"
+    })
+    void selectById_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.selectById(999);
+
+        // ## Assert ##
+        assertThat(actual).hasValueSatisfying(actualEntity -> {
+            assertThat(actualEntity.getId()).isEqualTo(999);
+            assertThat(actualEntity.getUsername()).isEqualTo("test_user_1");
+            assertThat(actualEntity.getPassword()).isEqualTo("test_user_1_pass");
+            assertThat(actualEntity.isEnabled()).isTrue();
+            assertThat(actualEntity.getImagePath()).isEqualTo("users/999/profile-image");
+        });
+    }
+
+    @Test
+    @DisplayName("selectById: 指定されたIDのユーザーが存在しないとき、Optional.empty を返す")
+    void selectById_returnEmpty() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.selectById(0);
+
+        // ## Assert ##
+        assertThat(actual).isEmpty();
+    }
+
     @Test
     @DisplayName("insert: User を登録することができる。image_path カラムはユーザー登録時には未設定")
     void insert_success() {
@@ -125,6 +160,51 @@ class UserRepositoryTest {
                 .contains(existingUser2);
     }
 
+    @Test
+    @DisplayName("selectUsernamePage: カーソルより大きい ID のユーザーを ID 順に limit 件返す")
+    @Sql(statements = {
+            "INSERT INTO users (id, username, password, enabled) VALUES (999999003, 'test_user_3', 'test_user_3_pass', true);",
+            "INSERT INTO users (id, username, password, enabled) VALUES (999999001, 'test_user_1', 'test_user_1_pass', true);",
+            "INSERT INTO users (id, username, password, enabled) VALUES (999999002, 'test_user_2', 'test_user_2_pass', true);",
+    })
+    void selectUsernamePage_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.selectUsernamePage(999_999_001L, 10);
+        var limited = cut.selectUsernamePage(999_999_000L, 1);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(UserEntity::getId, UserEntity::getUsername, UserEntity::getPassword)
+                .containsExactly(
+                        tuple(999_999_002L, "test_user_2", null),
+                        tuple(999_999_003L, "test_user_3", null)
+                );
+        assertThat(limited)
+                .extracting(UserEntity::getUsername)
+                .containsExactly("test_user_1");
+    }
+
+    @Test
+    @DisplayName("updatePassword: 指定したユーザーのパスワードだけを更新する")
+    void updatePassword_success() {
+        // ## Arrange ##
+        var existingUser1 = new UserEntity(null, "user_1", "password_1", true, "users/1/profile-image");
+        var existingUser2 = new UserEntity(null, "user_2", "password_2", true, null);
+        cut.insert(existingUser1);
+        cut.insert(existingUser2);
+
+        // ## Act ##
+        cut.updatePassword(existingUser1.getUsername(), "new_password");
+
+        // ## Assert ##
+        assertThat(cut.selectByUsername(existingUser1.getUsername()))
+                .contains(new UserEntity(existingUser1.getId(), "user_1", "new_password", true, "users/1/profile-image"));
+        assertThat(cut.selectByUsername(existingUser2.getUsername()))
+                .contains(existingUser2);
+    }
+
     @Test
     @DisplayName("update: 更新対象が存在しないときは insert/update がされず、エラーも発生しない")
     void update_nonExistentUser() {
@@ -0,0 +1,165 @@
+package com.example.blog.repository.user;
+
+import com.example.blog.config.MybatisDefaultDatasourceTest;
+import com.example.blog.config.UsernameFilterProperties;
+import com.example.blog.service.user.UserEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@MybatisDefaultDatasourceTest
+@Import({UsernameFilter.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties(UsernameFilterProperties.class)
+@TestPropertySource(properties = {
+        "filter.username.key=test-username-filter",
+        "filter.username.expected-insertions=1000",
+        "filter.username.false-positive-probability=0.01",
+})
+class UsernameFilterTest {
+
+    @Autowired
+    private UsernameFilter cut;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        var keys = redisTemplate.keys("test-username-filter:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+        cut.load();
+    }
+
+    @Test
+    @DisplayName("mightContain: 登録したユーザー名は true、登録していないユーザー名は false")
+    void mightContain() {
+        // ## Arrange ##
+        cut.put("test_username1");
+
+        // ## Act ##
+        var registered = cut.mightContain("test_username1");
+        var notRegistered = cut.mightContain("test_username2");
+
+        // ## Assert ##
+        assertThat(registered).isTrue();
+        assertThat(notRegistered).isFalse();
+    }
+
+    @Test
+    @DisplayName("mightContain: 大文字・小文字を区別しない")
+    void mightContain_ignoreCase() {
+        // ## Arrange ##
+        cut.put("test_username1");
+
+        // ## Act ##
+        var actual = cut.mightContain("TEST_USERNAME1");
+
+        // ## Assert ##
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    @DisplayName("mightContain: null のときは false")
+    void mightContain_null() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.mightContain(null);
+
+        // ## Assert ##
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    @DisplayName("load: データベースに登録済みのユーザー名をフィルタに読み込む")
+    void load() {
+        // ## Arrange ##
+        userRepository.insert(new UserEntity(null, "test_username1", "test_password", true));
+        userRepository.insert(new UserEntity(null, "test_username2", "test_password", true));
+
+        // ## Act ##
+        cut.load();
+
+        // ## Assert ##
+        assertThat(cut.mightContain("test_username1")).isTrue();
+        assertThat(cut.mightContain("test_username2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("mightContain: フィルタのキーが失われたとき、true を返してデータベースから読み込み直す")
+    void mightContain_keyLost() {
+        // ## Arrange ##
+        redisTemplate.delete(redisTemplate.keys("test-username-filter:*"));
+        // 読み込み直すまでの間に登録されたユーザー名
+        cut.put("test_username1");
+
+        // ## Act ##
+        var actual = cut.mightContain("test_username2");
+
+        // ## Assert ##
+        assertThat(actual).isTrue();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(cut.mightContain("test_username2")).isFalse()
+        );
+        assertThat(cut.mightContain("test_username1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("mightContain: 想定件数を登録したとき、偽陽性率が設定値と同程度に収まる")
+    void mightContain_falsePositiveRate() {
+        // ## Arrange ##
+        IntStream.range(0, 1000).forEach(i -> cut.put("registered_" + i));
+
+        // ## Act ##
+        var falsePositives = IntStream.range(0, 10000)
+                .filter(i -> cut.mightContain("unregistered_" + i))
+                .count();
+
+        // ## Assert ##
+        assertThat(falsePositives / 10000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("recordFalsePositive: 偽陽性率とメモリ使用量をメトリクスとして公開する")
+    void metrics() {
+        // ## Arrange ##
+        var absentBefore = meterRegistry.get("user.username.filter.checks").tag("result", "absent").counter().count();
+        var falsePositivesBefore = meterRegistry.get("user.username.filter.false.positives").counter().count();
+
+        // ## Act ##
+        cut.mightContain("test_username1");
+        cut.recordFalsePositive();
+
+        // ## Assert ##
+        var absent = meterRegistry.get("user.username.filter.checks").tag("result", "absent").counter().count();
+        var falsePositives = meterRegistry.get("user.username.filter.false.positives").counter().count();
+        assertThat(absent).isEqualTo(absentBefore + 1);
+        assertThat(falsePositives).isEqualTo(falsePositivesBefore + 1);
+        assertThat(meterRegistry.get("user.username.filter.false.positive.rate").gauge().value())
+                .isEqualTo(falsePositives / (falsePositives + absent));
+        // 1000件・偽陽性率 1% のとき、約 9,586 ビット
+        assertThat(meterRegistry.get("user.username.filter.memory").gauge().value())
+                .isEqualTo(9586 / 8);
+    }
+}
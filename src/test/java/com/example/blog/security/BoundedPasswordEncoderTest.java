@@ -0,0 +1,117 @@
+package com.example.blog.security;
+
+import com.example.blog.service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolExecutor executor;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        // スレッド 1 本、待ち行列 1 件
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void afterEach() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("encode/matches: 委譲先の PasswordEncoder の結果を返し、処理時間を記録する")
+    void encodeAndMatches() {
+        // ## Arrange ##
+        var cut = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor, meterRegistry);
+
+        // ## Act ##
+        var encoded = cut.encode("password123");
+
+        // ## Assert ##
+        assertThat(cut.matches("password123", encoded)).isTrue();
+        assertThat(cut.matches("__invalid__", encoded)).isFalse();
+        assertThat(meterRegistry.get("password.encoder.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.encoder.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("encode: 待ち行列があふれたときは待たずに ServiceUnavailableException を投げる")
+    void encode_rejected() throws Exception {
+        // ## Arrange ##
+        var cut = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), executor, meterRegistry);
+        var running = CompletableFuture.runAsync(() -> cut.encode("running"));
+        started.await(10, TimeUnit.SECONDS);
+        var queued = CompletableFuture.runAsync(() -> cut.encode("queued"));
+        while (executor.getQueue().isEmpty()) {
+            Thread.sleep(10);
+        }
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatThrownBy(() -> cut.encode("rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("password.encoder.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        running.get(10, TimeUnit.SECONDS);
+        queued.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("matches: 委譲先で発生した例外はそのまま投げる")
+    void matches_rethrow() {
+        // ## Arrange ##
+        var cut = new BoundedPasswordEncoder(new BCryptPasswordEncoder(), executor, meterRegistry);
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatThrownBy(() -> cut.matches(null, "$2a$10$invalid"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * release されるまで encode を終えない PasswordEncoder
+     */
+    private class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.blog.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("calibrate: 目標時間が短すぎるときは最小のコストを選ぶ")
+    void calibrate_minStrength() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 6, false);
+
+        // ## Assert ##
+        assertThat(actual.getStrength()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("calibrate: 目標時間が長すぎるときは最大のコストを選ぶ")
+    void calibrate_maxStrength() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6, false);
+
+        // ## Assert ##
+        assertThat(actual.getStrength()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("encode: 選んだコストでハッシュ化し、ハッシュにアルゴリズムとコストが含まれる")
+    void encode() {
+        // ## Arrange ##
+        var cut = new CalibratedBCryptPasswordEncoder(5, false);
+
+        // ## Act ##
+        var actual = cut.encode("password123");
+
+        // ## Assert ##
+        assertThat(actual).startsWith("$2a$05$");
+        assertThat(cut.matches("password123", actual)).isTrue();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding: コストが現在の設定より低いハッシュだけ true")
+    void upgradeEncoding() {
+        // ## Arrange ##
+        var cut = new CalibratedBCryptPasswordEncoder(5, false);
+
+        // ## Act ##
+        // ## Assert ##
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123"))).isFalse();
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding: downgradeEnabled のときは、コストが現在の設定より高いハッシュも true")
+    void upgradeEncoding_downgradeEnabled() {
+        // ## Arrange ##
+        var cut = new CalibratedBCryptPasswordEncoder(5, true);
+
+        // ## Act ##
+        // ## Assert ##
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password123"))).isTrue();
+        assertThat(cut.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding: BCrypt のハッシュでないときは false")
+    void upgradeEncoding_notBCrypt() {
+        // ## Arrange ##
+        var cut = new CalibratedBCryptPasswordEncoder(5, false);
+
+        // ## Act ##
+        // ## Assert ##
+        assertThat(cut.upgradeEncoding(null)).isFalse();
+        assertThat(cut.upgradeEncoding("")).isFalse();
+        assertThat(cut.upgradeEncoding("plain_password")).isFalse();
+    }
+}
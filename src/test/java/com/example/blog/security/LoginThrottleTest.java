@@ -0,0 +1,161 @@
+package com.example.blog.security;
+
+import com.example.blog.config.LoginThrottleProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringJUnitConfig(
+        classes = {
+                LoginThrottle.class,
+                SimpleMeterRegistry.class,
+        },
+        initializers = ConfigDataApplicationContextInitializer.class
+)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties(LoginThrottleProperties.class)
+@TestPropertySource(properties = {
+        "login-throttle.key-prefix=test-login-throttle",
+        "login-throttle.username-limit=3",
+        "login-throttle.username-window=1m",
+        "login-throttle.ip-limit=5",
+        "login-throttle.ip-window=1m",
+})
+class LoginThrottleTest {
+
+    private static final String IP = "192.0.2.1";
+
+    @Autowired
+    private LoginThrottle cut;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void beforeEach() {
+        var keys = redisTemplate.keys("test-login-throttle:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    @DisplayName("acquire: ユーザー名ごとの上限を超えると LoginThrottledException を投げる")
+    void acquire_usernameLimit() {
+        // ## Arrange ##
+        for (var i = 0; i < 3; i++) {
+            cut.acquire("test_username", IP);
+        }
+        var rejectedBefore = meterRegistry.get("login.throttle.attempts").tag("result", "rejected_username")
+                .counter().count();
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatThrownBy(() -> cut.acquire("test_username", IP))
+                .isInstanceOfSatisfying(LoginThrottledException.class, e ->
+                        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1))
+                );
+        assertThat(meterRegistry.get("login.throttle.attempts").tag("result", "rejected_username")
+                .counter().count())
+                .isEqualTo(rejectedBefore + 1);
+    }
+
+    @Test
+    @DisplayName("acquire: ユーザー名の大文字・小文字を区別せずに数える")
+    void acquire_ignoreCase() {
+        // ## Arrange ##
+        cut.acquire("test_username", IP);
+        cut.acquire("TEST_USERNAME", IP);
+        cut.acquire("Test_Username", IP);
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatThrownBy(() -> cut.acquire("test_username", IP))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    @DisplayName("acquire: ユーザー名が異なっても、IP アドレスごとの上限を超えると LoginThrottledException を投げる")
+    void acquire_ipLimit() {
+        // ## Arrange ##
+        for (var i = 0; i < 5; i++) {
+            cut.acquire("test_username" + i, IP);
+        }
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatThrownBy(() -> cut.acquire("test_username_other", IP))
+                .isInstanceOf(LoginThrottledException.class);
+        assertThatCode(() -> cut.acquire("test_username_other", "192.0.2.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("reset: ユーザー名ごとの回数を消し、IP アドレスごとの回数は残す")
+    void reset() {
+        // ## Arrange ##
+        for (var i = 0; i < 3; i++) {
+            cut.acquire("test_username", IP);
+        }
+
+        // ## Act ##
+        cut.reset("TEST_USERNAME");
+
+        // ## Assert ##
+        assertThatCode(() -> cut.acquire("test_username", IP)).doesNotThrowAnyException();
+        assertThatCode(() -> cut.acquire("test_username", IP)).doesNotThrowAnyException();
+        // IP アドレスごとの上限（5回）に達している
+        assertThatThrownBy(() -> cut.acquire("test_username", IP))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    @DisplayName("acquire: 長いユーザー名は切り詰めてキーに使う")
+    void acquire_longUsername() {
+        // ## Arrange ##
+        var username = "a".repeat(10_000);
+
+        // ## Act ##
+        cut.acquire(username, IP);
+
+        // ## Assert ##
+        var keys = redisTemplate.keys("test-login-throttle:username:*");
+        assertThat(keys).containsExactly("test-login-throttle:username:" + "a".repeat(255));
+    }
+
+    @Test
+    @DisplayName("acquire: 拒否した試行は数えない")
+    void acquire_notCountRejected() {
+        // ## Arrange ##
+        for (var i = 0; i < 3; i++) {
+            cut.acquire("test_username", IP);
+        }
+        // ユーザー名の上限で拒否された試行は、IP アドレスの回数にも数えない
+        for (var i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> cut.acquire("test_username", IP))
+                    .isInstanceOf(LoginThrottledException.class);
+        }
+
+        // ## Act ##
+        // ## Assert ##
+        assertThatCode(() -> cut.acquire("test_username_other1", IP)).doesNotThrowAnyException();
+        assertThatCode(() -> cut.acquire("test_username_other2", IP)).doesNotThrowAnyException();
+    }
+}
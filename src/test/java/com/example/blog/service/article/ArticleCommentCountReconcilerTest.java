@@ -0,0 +1,88 @@
+package com.example.blog.service.article;
+
+import com.example.blog.config.ArticleCommentCountReconciliationProperties;
+import com.example.blog.repository.article.ArticleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(
+        classes = {
+                ArticleCommentCountReconciler.class,
+                SimpleMeterRegistry.class,
+        },
+        initializers = ConfigDataApplicationContextInitializer.class
+)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties(ArticleCommentCountReconciliationProperties.class)
+@TestPropertySource(properties = {
+        "reconciliation.article-comment-count.batch-size=10",
+        "reconciliation.article-comment-count.lock-key=test-reconciliation:lock",
+        "reconciliation.article-comment-count.lock-ttl=1m",
+})
+class ArticleCommentCountReconcilerTest {
+
+    private static final String LOCK_KEY = "test-reconciliation:lock";
+
+    @Autowired
+    private ArticleCommentCountReconciler cut;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @MockBean
+    private ArticleRepository mockArticleRepository;
+    @MockBean
+    private ArticleCommentService mockArticleCommentService;
+
+    @BeforeEach
+    void beforeEach() {
+        redisTemplate.delete(LOCK_KEY);
+        when(mockArticleRepository.selectMaxId()).thenReturn(25L);
+    }
+
+    @Test
+    @DisplayName("reconcile: ロックを取得して ID の範囲ごとに修正し、終わったらロックを解放する")
+    void reconcile_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        cut.reconcile();
+
+        // ## Assert ##
+        verify(mockArticleCommentService).reconcileCommentCounts(1, 10);
+        verify(mockArticleCommentService).reconcileCommentCounts(11, 20);
+        verify(mockArticleCommentService).reconcileCommentCounts(21, 30);
+        assertThat(redisTemplate.hasKey(LOCK_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("reconcile: 他のノードがロックを持っているときは実行しない")
+    void reconcile_locked() {
+        // ## Arrange ##
+        redisTemplate.opsForValue().set(LOCK_KEY, "other_node", Duration.ofMinutes(1));
+
+        // ## Act ##
+        cut.reconcile();
+
+        // ## Assert ##
+        verify(mockArticleCommentService, never()).reconcileCommentCounts(anyLong(), anyLong());
+        assertThat(redisTemplate.opsForValue().get(LOCK_KEY)).isEqualTo("other_node");
+    }
+}
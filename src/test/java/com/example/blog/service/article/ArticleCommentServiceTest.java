@@ -2,19 +2,40 @@ package com.example.blog.service.article;
 
 import com.example.blog.config.MybatisDefaultDatasourceTest;
 import com.example.blog.config.PasswordEncoderConfig;
+import com.example.blog.config.PasswordEncoderProperties;
+import com.example.blog.config.UserCacheProperties;
+import com.example.blog.repository.article.ArticleCacheRepository;
+import com.example.blog.repository.article.ArticleRepository;
+import com.example.blog.repository.article.ArticleTitleIndex;
 import com.example.blog.repository.file.FileRepository;
+import com.example.blog.repository.user.UserCacheRepository;
+import com.example.blog.repository.user.UsernameFilter;
 import com.example.blog.service.DateTimeService;
 import com.example.blog.service.exception.ResourceNotFoundException;
 import com.example.blog.service.user.UserService;
 import com.example.blog.util.TestDateTimeUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @MybatisDefaultDatasourceTest
@@ -22,8 +43,12 @@ import static org.mockito.Mockito.when;
         ArticleCommentService.class,
         ArticleService.class,
         UserService.class,
+        UserCacheRepository.class,
+        SimpleMeterRegistry.class,
         PasswordEncoderConfig.class
 })
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties({UserCacheProperties.class, PasswordEncoderProperties.class})
 class ArticleCommentServiceTest {
 
     @MockBean
@@ -34,12 +59,28 @@ class ArticleCommentServiceTest {
     private ArticleService articleService;
     @Autowired
     private ArticleCommentService cut;
+    @Autowired
+    private ArticleRepository articleRepository;
+    @Autowired
+    private DataSource dataSource;
+    @MockBean
+    private ArticleCacheRepository mockArticleCacheRepository;
 
     /**
      * このテストでは不要だが、UserService の初期化に必要なためモックを登録しておく
      */
     @MockBean
     private FileRepository mockFileRepository;
+    /**
+     * このテストでは不要だが、UserService の初期化に必要なためモックを登録しておく
+     */
+    @MockBean
+    private UsernameFilter mockUsernameFilter;
+    /**
+     * このテストでは不要だが、ArticleService の初期化に必要なためモックを登録しておく
+     */
+    @MockBean
+    private ArticleTitleIndex mockArticleTitleIndex;
 
     @Test
     @DisplayName("create: articles テーブルにレコードが insert される")
@@ -50,7 +91,7 @@ class ArticleCommentServiceTest {
 
         var articleAuthor = userService.register("test_username1", "test_password");
         var commentAuthor = userService.register("test_username2", "test_password");
-        var article = articleService.create(articleAuthor.getId(), "test_title", "test_body");
+        var article = articleService.create(articleAuthor, "test_title", "test_body");
         var expectedComment = "コメントしました";
 
         // ## Act ##
@@ -66,6 +107,62 @@ class ArticleCommentServiceTest {
         assertThat(actual.getCreatedAt()).isEqualTo(expectedCurrentDateTime);
     }
 
+    @Test
+    @DisplayName("create: 記事の comment_count と last_commented_at を更新し、記事のキャッシュを削除する")
+    void create_incrementCommentCount() {
+        // ## Arrange ##
+        var expectedLastCommentedAt = TestDateTimeUtil.of(2020, 1, 3, 10, 20, 30);
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30))
+                .thenReturn(expectedLastCommentedAt);
+
+        var articleAuthor = userService.register("test_username1", "test_password");
+        var commentAuthor = userService.register("test_username2", "test_password");
+        var article = articleService.create(articleAuthor, "test_title", "test_body");
+        clearInvocations(mockArticleCacheRepository);
+
+        // ## Act ##
+        cut.create(commentAuthor.getId(), article.getId(), "test_comment_body1");
+        cut.create(commentAuthor.getId(), article.getId(), "test_comment_body2");
+
+        // ## Assert ##
+        assertThat(articleRepository.selectById(article.getId()))
+                .hasValueSatisfying(actual -> {
+                    assertThat(actual.getCommentCount()).isEqualTo(2);
+                    assertThat(actual.getLastCommentedAt()).isEqualTo(expectedLastCommentedAt);
+                });
+        verify(mockArticleCacheRepository, atLeastOnce()).evict(article.getId());
+    }
+
+    @Test
+    @DisplayName("create: 投稿者がキャッシュにあるとき、SELECT せずに UPDATE と INSERT の2文でコメントを作成する")
+    void create_statementCount() {
+        // ## Arrange ##
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30));
+
+        var articleAuthor = userService.register("test_username1", "test_password");
+        var commentAuthor = userService.register("test_username2", "test_password");
+        var article = articleService.create(articleAuthor, "test_title", "test_body");
+        // 投稿者をキャッシュに載せておく
+        cut.create(commentAuthor.getId(), article.getId(), "test_comment_body1");
+        var before = statementCounts();
+
+        // ## Act ##
+        var actual = cut.create(commentAuthor.getId(), article.getId(), "test_comment_body2");
+
+        // ## Assert ##
+        var after = statementCounts();
+        after.replaceAll((name, count) -> count - before.get(name));
+        assertThat(after).isEqualTo(Map.of(
+                "Com_select", 0L,
+                "Com_insert", 1L,
+                "Com_update", 1L
+        ));
+        assertThat(actual.getId()).isNotNull();
+        assertThat(actual.getAuthor().getUsername()).isEqualTo("test_username2");
+    }
+
     @Test
     @DisplayName("create: 指定された記事IDが存在しないとき、ResourceNotFoundException を投げる")
     void create_articleDoesNotExist() {
@@ -83,8 +180,75 @@ class ArticleCommentServiceTest {
     }
 
     @Test
-    @DisplayName("findByArticleId: 記事IDを指定して記事コメントの一覧が取得できる")
-    void findByArticleId_success() {
+    @DisplayName("reconcileCommentCounts: 指定された ID の範囲で、ずれている comment_count と last_commented_at を修正する")
+    @Sql(statements = {"""
+            DELETE FROM article_comments;
+            DELETE FROM articles;
+            DELETE FROM users;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (1, 'test_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, comment_count, last_commented_at, created_at, updated_at)
+            VALUES (1, 1, 'title_1', 'body_1', 5, '2010-10-05 00:00:00', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (2, 1, 'title_2', 'body_2', 1, '2010-10-03 00:00:00', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (3, 1, 'title_3', 'body_3', 9, NULL, '2010-10-01 00:00:00', '2010-10-01 00:00:00');
+            
+            INSERT INTO article_comments (user_id, article_id, body, created_at)
+            VALUES (1, 1, 'comment_1', '2010-10-02 00:00:00')
+                 , (1, 2, 'comment_2', '2010-10-03 00:00:00');
+            """
+    })
+    void reconcileCommentCounts_success() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.reconcileCommentCounts(1, 2);
+
+        // ## Assert ##
+        assertThat(actual).isEqualTo(1);
+        assertThat(articleRepository.selectById(1))
+                .hasValueSatisfying(article -> {
+                    assertThat(article.getCommentCount()).isEqualTo(1);
+                    assertThat(article.getLastCommentedAt()).isEqualTo("2010-10-02T00:00:00+09:00");
+                });
+        assertThat(articleRepository.selectById(2))
+                .hasValueSatisfying(article -> assertThat(article.getCommentCount()).isEqualTo(1));
+        // 範囲外の記事は修正しない
+        assertThat(articleRepository.selectById(3))
+                .hasValueSatisfying(article -> assertThat(article.getCommentCount()).isEqualTo(9));
+        verify(mockArticleCacheRepository).evict(1L);
+    }
+
+    @Test
+    @DisplayName("findByArticleIds: 指定した記事IDの順に、記事ごとのコメントを返す")
+    void findByArticleIds_success() {
+        // ## Arrange ##
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30));
+
+        var author = userService.register("test_username1", "test_password");
+        var article1 = articleService.create(author, "test_title1", "test_body1");
+        var article2 = articleService.create(author, "test_title2", "test_body2");
+        var comment1 = cut.create(author.getId(), article1.getId(), "test_comment_body1");
+        var comment2 = cut.create(author.getId(), article1.getId(), "test_comment_body2");
+        cut.create(author.getId(), article1.getId(), "test_comment_body3");
+
+        // ## Act ##
+        var actual = cut.findByArticleIds(List.of(article2.getId(), article1.getId(), 0L), 2);
+
+        // ## Assert ##
+        assertThat(actual).containsOnlyKeys(article2.getId(), article1.getId(), 0L);
+        assertThat(actual.keySet()).containsExactly(article2.getId(), article1.getId(), 0L);
+        assertThat(actual.get(article2.getId())).isEmpty();
+        assertThat(actual.get(article1.getId()))
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(comment1.getId(), comment2.getId());
+        assertThat(actual.get(0L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findPageByArticleId: 記事IDを指定して記事コメントの一覧が取得できる")
+    void findPageByArticleId_success() {
         // ## Arrange ##
         when(mockDateTimeService.now())
                 .thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30))
@@ -93,7 +257,7 @@ class ArticleCommentServiceTest {
         ;
 
         var articleAuthor = userService.register("test_username1", "test_password");
-        var article = articleService.create(articleAuthor.getId(), "test_title", "test_body");
+        var article = articleService.create(articleAuthor, "test_title", "test_body");
 
         var commentAuthor1 = userService.register("test_username2", "test_password");
         var comment1 = cut.create(commentAuthor1.getId(), article.getId(), "test_comment_body1");
@@ -102,23 +266,99 @@ class ArticleCommentServiceTest {
         var comment2 = cut.create(commentAuthor2.getId(), article.getId(), "test_comment_body1");
 
         // ## Act ##
-        var actual = cut.findByArticleId(article.getId());
+        var actual = cut.findPageByArticleId(article.getId(), null, 10);
 
         // ## Assert ##
-        assertThat(actual).hasSize(2);
-        assertThat(actual.get(0)).isEqualTo(comment1);
-        assertThat(actual.get(1)).isEqualTo(comment2);
+        assertThat(actual.items())
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(comment1.getId(), comment2.getId());
+        assertThat(actual.items().get(0))
+                .usingRecursiveComparison()
+                .ignoringFields("article")
+                .isEqualTo(comment1);
+        assertThat(actual.nextCursor()).isEmpty();
     }
 
     @Test
-    @DisplayName("findByArticleId: 指定された記事IDの記事が存在しないとき、ResourceNotFoundException を投げる")
-    void findByArticleId_invalidArticleId() {
+    @DisplayName("findPageByArticleId: 続きのコメントがあるとき、最後のコメントを指す nextCursor を返す")
+    void findPageByArticleId_hasNextPage() {
         // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2021, 1, 2, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2022, 1, 2, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2023, 1, 2, 10, 20, 30))
+        ;
+
+        var author = userService.register("test_username1", "test_password");
+        var article = articleService.create(author, "test_title", "test_body");
+        var comment1 = cut.create(author.getId(), article.getId(), "test_comment_body1");
+        var comment2 = cut.create(author.getId(), article.getId(), "test_comment_body2");
+        var comment3 = cut.create(author.getId(), article.getId(), "test_comment_body3");
 
         // ## Act ##
+        var firstPage = cut.findPageByArticleId(article.getId(), null, 2);
+        var secondPage = cut.findPageByArticleId(article.getId(), firstPage.nextCursor().orElseThrow(), 2);
+
         // ## Assert ##
-        assertThrows(ResourceNotFoundException.class, () -> {
-            cut.findByArticleId(0);
-        });
+        assertThat(firstPage.items())
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(comment1.getId(), comment2.getId());
+        assertThat(firstPage.nextCursor()).contains(KeysetCursor.of(comment2));
+        assertThat(secondPage.items())
+                .extracting(ArticleCommentEntity::getId)
+                .containsExactly(comment3.getId());
+        assertThat(secondPage.nextCursor()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findPageByArticleId: 記事の存在確認をせず、最新のコメントと一覧を取得する SELECT だけを発行する")
+    void findPageByArticleId_singleSelect() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2021, 1, 2, 10, 20, 30))
+        ;
+
+        var author = userService.register("test_username1", "test_password");
+        var article = articleService.create(author, "test_title", "test_body");
+        cut.create(author.getId(), article.getId(), "test_comment_body1");
+        var before = statementCounts();
+
+        // ## Act ##
+        var actual = cut.findPageByArticleId(article.getId(), null, 10);
+
+        // ## Assert ##
+        var after = statementCounts();
+        after.replaceAll((name, count) -> count - before.get(name));
+        assertThat(after).containsEntry("Com_select", 2L);
+        assertThat(actual.items()).hasSize(1);
+        assertThat(actual.latestComment()).isPresent();
+    }
+
+    @Test
+    @DisplayName("findPageByArticleId: 指定された記事IDの記事が存在しないとき、空のページを返す")
+    void findPageByArticleId_invalidArticleId() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = cut.findPageByArticleId(0, null, 10);
+
+        // ## Assert ##
+        assertThat(actual.items()).isEmpty();
+        assertThat(actual.nextCursor()).isEmpty();
+        assertThat(actual.latestComment()).isEmpty();
+    }
+
+    // テストのトランザクションと同じ接続で、発行された SQL の種類ごとの件数を取得する
+    private Map<String, Long> statementCounts() {
+        var counts = new HashMap<String, Long>();
+        new JdbcTemplate(dataSource).query(
+                "SHOW SESSION STATUS WHERE Variable_name IN ('Com_select', 'Com_insert', 'Com_update')",
+                resultSet -> {
+                    counts.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+        );
+        return counts;
     }
-}
\ No newline at end of file
+}
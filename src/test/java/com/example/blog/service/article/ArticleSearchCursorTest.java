@@ -0,0 +1,54 @@
+package com.example.blog.service.article;
+
+import com.example.blog.service.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArticleSearchCursorTest {
+
+    @Test
+    @DisplayName("encode/decode: encode した文字列を decode すると元のカーソルに戻る")
+    void encodeAndDecode() {
+        // ## Arrange ##
+        var expected = new ArticleSearchCursor(40);
+
+        // ## Act ##
+        var actual = ArticleSearchCursor.decode(expected.encode());
+
+        // ## Assert ##
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("decode: offset が MAX_OFFSET のときは decode できる")
+    void decode_maxOffset() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = ArticleSearchCursor.decode("MTAwMA"); // "1000"
+
+        // ## Assert ##
+        assertThat(actual.offset()).isEqualTo(ArticleSearchCursor.MAX_OFFSET);
+    }
+
+    @ParameterizedTest
+    @DisplayName("decode: 不正な文字列のとき InvalidCursorException を throw する")
+    @ValueSource(strings = {
+            "",
+            "!!!",
+            "YWJj", // "abc"
+            "LTE", // "-1"
+            "MTAwMQ", // "1001"
+    })
+    void decode_invalid(String value) {
+        // ## Arrange ##
+
+        // ## Act & Assert ##
+        assertThrows(InvalidCursorException.class, () -> ArticleSearchCursor.decode(value));
+    }
+}
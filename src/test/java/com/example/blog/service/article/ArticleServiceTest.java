@@ -1,7 +1,9 @@
 package com.example.blog.service.article;
 
 import com.example.blog.config.MybatisDefaultDatasourceTest;
+import com.example.blog.repository.article.ArticleCacheRepository;
 import com.example.blog.repository.article.ArticleRepository;
+import com.example.blog.repository.article.ArticleTitleIndex;
 import com.example.blog.repository.user.UserRepository;
 import com.example.blog.service.DateTimeService;
 import com.example.blog.service.exception.ResourceNotFoundException;
@@ -14,9 +16,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @MybatisDefaultDatasourceTest
@@ -31,6 +42,10 @@ class ArticleServiceTest {
     private DateTimeService mockDateTimeService;
     @Autowired
     private ArticleRepository articleRepository;
+    @MockBean
+    private ArticleCacheRepository mockArticleCacheRepository;
+    @MockBean
+    private ArticleTitleIndex mockArticleTitleIndex;
 
     @Test
     void setup() {
@@ -55,12 +70,13 @@ class ArticleServiceTest {
         var expectedBody = "test_article_body";
 
         // ## Act ##
-        var actual = cut.create(expectedUser.getId(), expectedTitle, expectedBody);
+        var actual = cut.create(expectedUser, expectedTitle, expectedBody);
 
         // ## Assert ##
         assertThat(actual.getId()).isNotNull();
         assertThat(actual.getTitle()).isEqualTo(expectedTitle);
         assertThat(actual.getBody()).isEqualTo(expectedBody);
+        assertThat(actual.getExcerpt()).isEqualTo(expectedBody);
         assertThat(actual.getAuthor().getId()).isEqualTo(expectedUser.getId());
         assertThat(actual.getAuthor().getUsername()).isEqualTo(expectedUser.getUsername());
         assertThat(actual.getAuthor().getPassword()).isNull();
@@ -69,6 +85,50 @@ class ArticleServiceTest {
         assertThat(actual.getUpdatedAt()).isEqualTo(expectedCurrentDateTime);
     }
 
+    @Test
+    @DisplayName("create: 返す記事は、作成後にデータベースから取得した記事と一致する")
+    void create_returnPersistedEntity() {
+        // ## Arrange ##
+        var expectedUser = new UserEntity();
+        expectedUser.setUsername("test_user1");
+        expectedUser.setPassword("test_password1");
+        expectedUser.setEnabled(true);
+        userRepository.insert(expectedUser);
+
+        // TIMESTAMP 列に保存できない秒未満の値を含める
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30).withNano(987_654_321));
+
+        // ## Act ##
+        var actual = cut.create(expectedUser, "test_article_title", "test_article_body");
+
+        // ## Assert ##
+        assertThat(actual.getCreatedAt()).isEqualTo(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30));
+        assertThat(articleRepository.selectById(actual.getId())).hasValue(actual);
+    }
+
+    @Test
+    @DisplayName("create: 本文が長いとき、本文の先頭 100 文字を抜粋として保存する")
+    void create_truncateExcerpt() {
+        // ## Arrange ##
+        var expectedUser = new UserEntity();
+        expectedUser.setUsername("test_user1");
+        expectedUser.setPassword("test_password1");
+        expectedUser.setEnabled(true);
+        userRepository.insert(expectedUser);
+
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30));
+
+        var expectedExcerpt = "あ".repeat(99) + "\uD83D\uDE00"; // サロゲートペアを途中で切らない
+        var body = expectedExcerpt + "い".repeat(10);
+
+        // ## Act ##
+        var actual = cut.create(expectedUser, "test_article_title", body);
+
+        // ## Assert ##
+        assertThat(actual.getBody()).isEqualTo(body);
+        assertThat(actual.getExcerpt()).isEqualTo(expectedExcerpt);
+    }
+
     @Test
     @DisplayName("findAll: 記事が1件も存在しないとき、空のリストを返す")
     @Sql(statements = {"""
@@ -102,8 +162,8 @@ class ArticleServiceTest {
         user1.setEnabled(true);
         userRepository.insert(user1);
 
-        var expectedArticle1 = cut.create(user1.getId(), "test_title1", "test_body1");
-        var expectedArticle2 = cut.create(user1.getId(), "test_title2", "test_body2");
+        var expectedArticle1 = cut.create(user1, "test_title1", "test_body1");
+        var expectedArticle2 = cut.create(user1, "test_title2", "test_body2");
 
         // ## Act ##
         var actual = cut.findAll();
@@ -114,6 +174,115 @@ class ArticleServiceTest {
         assertThat(actual.get(1)).isEqualTo(expectedArticle1);
     }
 
+    @Test
+    @DisplayName("forEachOrderByCreatedAtDesc: すべての記事を作成日時の降順で1件ずつ処理する")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            """})
+    void forEachOrderByCreatedAtDesc_success() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 10, 10, 10, 10))
+                .thenReturn(TestDateTimeUtil.of(2021, 1, 10, 10, 10, 10));
+
+        var user1 = new UserEntity();
+        user1.setUsername("test_username1");
+        user1.setPassword("test_password1");
+        user1.setEnabled(true);
+        userRepository.insert(user1);
+
+        var expectedArticle1 = cut.create(user1, "test_title1", "test_body1");
+        var expectedArticle2 = cut.create(user1, "test_title2", "test_body2");
+
+        // ## Act ##
+        var actual = new ArrayList<ArticleEntity>();
+        cut.forEachOrderByCreatedAtDesc(actual::add);
+
+        // ## Assert ##
+        assertThat(actual)
+                .extracting(ArticleEntity::getId)
+                .containsExactly(expectedArticle2.getId(), expectedArticle1.getId());
+        assertThat(actual.get(0).getBody()).isNull();
+        assertThat(actual.get(0).getExcerpt()).isEqualTo(expectedArticle2.getExcerpt());
+    }
+
+    @Test
+    @DisplayName("findPage: limit を超える記事が存在するとき、次のページのカーソルを返す")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            """})
+    void findPage_returnNextCursor() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 10, 10, 10, 10))
+                .thenReturn(TestDateTimeUtil.of(2021, 1, 10, 10, 10, 10))
+                .thenReturn(TestDateTimeUtil.of(2022, 1, 10, 10, 10, 10));
+
+        var user1 = new UserEntity();
+        user1.setUsername("test_username1");
+        user1.setPassword("test_password1");
+        user1.setEnabled(true);
+        userRepository.insert(user1);
+
+        var expectedArticle1 = cut.create(user1, "test_title1", "test_body1");
+        var expectedArticle2 = cut.create(user1, "test_title2", "test_body2");
+        var expectedArticle3 = cut.create(user1, "test_title3", "test_body3");
+
+        // ## Act ##
+        var firstPage = cut.findPage(null, 2);
+        var secondPage = cut.findPage(firstPage.nextCursor().orElseThrow(), 2);
+
+        // ## Assert ##
+        assertThat(firstPage.items())
+                .extracting(ArticleEntity::getId)
+                .containsExactly(expectedArticle3.getId(), expectedArticle2.getId());
+        assertThat(firstPage.nextCursor()).hasValue(KeysetCursor.of(expectedArticle2));
+        assertThat(secondPage.items())
+                .extracting(ArticleEntity::getId)
+                .containsExactly(expectedArticle1.getId());
+        assertThat(secondPage.nextCursor()).isEmpty();
+    }
+
+    // FULLTEXT インデックスはコミットされた行しか検索できないため、トランザクションの外でデータを投入する
+    @Test
+    @DisplayName("search: limit を超える記事がヒットしたとき、次のページのカーソルを返す")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (999901, 'test_search_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, excerpt, created_at, updated_at)
+            VALUES (999901, 999901, 'その他', '今日はぬるぽに遭遇した', 'excerpt_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (999902, 999901, 'ぬるぽ入門', 'ぬるぽ ぬるぽ ぬるぽ', 'excerpt_2', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (999903, 999901, 'ガッ', '関係のない記事', 'excerpt_3', '2010-10-03 00:00:00', '2010-10-03 00:00:00');
+            """
+    })
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            """
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void search_returnNextCursor() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var firstPage = cut.search("ぬるぽ", null, 1);
+        var secondPage = cut.search("ぬるぽ", firstPage.nextCursor().orElseThrow(), 1);
+
+        // ## Assert ##
+        assertThat(firstPage.items())
+                .extracting(ArticleEntity::getId)
+                .containsExactly(999902L);
+        assertThat(firstPage.nextCursor()).hasValue(new ArticleSearchCursor(1));
+        assertThat(secondPage.items())
+                .extracting(ArticleEntity::getId)
+                .containsExactly(999901L);
+        assertThat(secondPage.nextCursor()).isEmpty();
+    }
+
     @Test
     @DisplayName("update: 記事の更新に成功する")
     void update_success() {
@@ -129,7 +298,7 @@ class ArticleServiceTest {
         expectedUser.setEnabled(true);
         userRepository.insert(expectedUser);
 
-        var existingArticle = cut.create(expectedUser.getId(), "test_title", "test_body");
+        var existingArticle = cut.create(expectedUser, "test_title", "test_body");
 
         var expectedTitle = "test_title_updated";
         var expectedBody = "test_body_updated";
@@ -157,6 +326,7 @@ class ArticleServiceTest {
             assertThat(actualRecord.getId()).isEqualTo(existingArticle.getId());
             assertThat(actualRecord.getTitle()).isEqualTo(expectedTitle);
             assertThat(actualRecord.getBody()).isEqualTo(expectedBody);
+            assertThat(actualRecord.getExcerpt()).isEqualTo(expectedBody);
             assertThat(actualRecord.getCreatedAt()).isEqualTo(existingArticle.getCreatedAt());
             assertThat(actualRecord.getUpdatedAt()).isEqualTo(expectedUpdatedAt);
             assertThat(actualRecord.getAuthor().getId()).isEqualTo(expectedUser.getId());
@@ -166,6 +336,29 @@ class ArticleServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("update: 更新した記事をキャッシュから削除する")
+    void update_evictCache() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 10, 10, 10, 10));
+
+        var author = new UserEntity();
+        author.setUsername("test_user1");
+        author.setPassword("test_password1");
+        author.setEnabled(true);
+        userRepository.insert(author);
+
+        var existingArticle = cut.create(author, "test_title", "test_body");
+        clearInvocations(mockArticleCacheRepository);
+
+        // ## Act ##
+        cut.update(author.getId(), existingArticle.getId(), "test_title_updated", "test_body_updated");
+
+        // ## Assert ##
+        verify(mockArticleCacheRepository).evict(existingArticle.getId());
+    }
+
     @Test
     @DisplayName("update: 指定された ID の記事が見つからないとき、ResourceNotFoundException を throw する")
     void update_throwResourceNotFoundException() {
@@ -197,7 +390,7 @@ class ArticleServiceTest {
         author.setEnabled(true);
         userRepository.insert(author);
 
-        var existingArticle = cut.create(author.getId(), "test_title", "test_body");
+        var existingArticle = cut.create(author, "test_title", "test_body");
 
         var otherUser = new UserEntity();
         otherUser.setUsername("test_user2");
@@ -224,7 +417,8 @@ class ArticleServiceTest {
         author.setEnabled(true);
         userRepository.insert(author);
 
-        var existingArticle = cut.create(author.getId(), "test_title", "test_body");
+        var existingArticle = cut.create(author, "test_title", "test_body");
+        clearInvocations(mockArticleCacheRepository);
 
         // ## Act ##
         cut.delete(author.getId(), existingArticle.getId());
@@ -232,6 +426,59 @@ class ArticleServiceTest {
         // ## Assert ##
         var actual = articleRepository.selectById(existingArticle.getId());
         assertThat(actual).isEmpty();
+        verify(mockArticleCacheRepository).evict(existingArticle.getId());
+    }
+
+    @Test
+    @DisplayName("create/update/delete: コミットされたとき、タイトルの索引を更新する")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (999901, 'test_index_user1', 'test_password_1', true);
+            """
+    })
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            """
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void createUpdateDelete_updateTitleIndexAfterCommit() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 10, 10, 10, 10));
+
+        // ## Act ##
+        var created = cut.create(999901, "test_title", "test_body");
+        cut.update(999901, created.getId(), "test_title_updated", "test_body_updated");
+        cut.delete(999901, created.getId());
+
+        // ## Assert ##
+        verify(mockArticleTitleIndex).put(created.getId(), "test_title");
+        verify(mockArticleTitleIndex).put(created.getId(), "test_title_updated");
+        verify(mockArticleTitleIndex).remove(created.getId());
+    }
+
+    @Test
+    @DisplayName("create: トランザクションがコミットされていないとき、タイトルの索引を更新しない")
+    void create_notUpdateTitleIndexBeforeCommit() {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 10, 10, 10, 10));
+
+        var author = new UserEntity();
+        author.setUsername("test_user1");
+        author.setPassword("test_password1");
+        author.setEnabled(true);
+        userRepository.insert(author);
+
+        // ## Act ##
+        cut.create(author, "test_title", "test_body");
+
+        // ## Assert ##
+        verify(mockArticleTitleIndex, never()).put(anyLong(), anyString());
     }
 
     @Test
@@ -265,7 +512,7 @@ class ArticleServiceTest {
         author.setEnabled(true);
         userRepository.insert(author);
 
-        var existingArticle = cut.create(author.getId(), "test_title", "test_body");
+        var existingArticle = cut.create(author, "test_title", "test_body");
 
         var otherUser = new UserEntity();
         otherUser.setUsername("test_user2");
@@ -0,0 +1,43 @@
+package com.example.blog.service.article;
+
+import com.example.blog.service.exception.InvalidCursorException;
+import com.example.blog.util.TestDateTimeUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("encode/decode: encode した文字列を decode すると元のカーソルに戻る")
+    void encodeAndDecode() {
+        // ## Arrange ##
+        var expected = new KeysetCursor(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30), 123L);
+
+        // ## Act ##
+        var actual = KeysetCursor.decode(expected.encode());
+
+        // ## Assert ##
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @DisplayName("decode: 不正な文字列のとき InvalidCursorException を throw する")
+    @ValueSource(strings = {
+            "",
+            "!!!",
+            "MjAyMC0wMS0wMlQxMDoyMDozMCswOTowMA", // "2020-01-02T10:20:30+09:00"
+            "aW52YWxpZHwxMjM", // "invalid|123"
+            "MjAyMC0wMS0wMlQxMDoyMDozMCswOTowMHxhYmM", // "2020-01-02T10:20:30+09:00|abc"
+    })
+    void decode_invalid(String value) {
+        // ## Arrange ##
+
+        // ## Act & Assert ##
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(value));
+    }
+}
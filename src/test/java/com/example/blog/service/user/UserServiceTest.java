@@ -2,15 +2,20 @@ package com.example.blog.service.user;
 
 import com.example.blog.config.*;
 import com.example.blog.repository.file.FileRepository;
+import com.example.blog.repository.user.UserCacheRepository;
 import com.example.blog.repository.user.UserRepository;
+import com.example.blog.repository.user.UsernameFilter;
 import com.example.blog.security.LoggedInUser;
 import com.example.blog.service.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
@@ -23,12 +28,21 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 @MybatisDefaultDatasourceTest
 @Import({
         UserService.class,
+        UserCacheRepository.class,
+        UsernameFilter.class,
+        SimpleMeterRegistry.class,
         PasswordEncoderConfig.class,
         FileRepository.class,
         S3PresignerConfig.class,
         S3ClientConfig.class,
 })
-@EnableConfigurationProperties(S3Properties.class)
+@ImportAutoConfiguration(RedisAutoConfiguration.class)
+@EnableConfigurationProperties({
+        S3Properties.class,
+        UserCacheProperties.class,
+        UsernameFilterProperties.class,
+        PasswordEncoderProperties.class,
+})
 class UserServiceTest {
 
     @Autowired
@@ -76,8 +90,7 @@ class UserServiceTest {
     void existsUsername_returnTrue() {
         // ## Arrange ##
         var username = "test_username";
-        var alreadyExistUser = new UserEntity(null, username, "test_password", true);
-        userRepository.insert(alreadyExistUser);
+        cut.register(username, "test_password");
 
         // ## Act ##
         var actual = cut.existsUsername(username);
@@ -86,6 +99,21 @@ class UserServiceTest {
         assertThat(actual).isTrue();
     }
 
+    @Test
+    @DisplayName("existsUsername: ユーザー名フィルタに登録されていないユーザー名は、データベースを参照せずに false")
+    void existsUsername_returnFalse_withoutDatabase() {
+        // ## Arrange ##
+        // register を経由せずに登録したユーザーはフィルタに載らない
+        var username = "test_not_filtered_username";
+        userRepository.insert(new UserEntity(null, username, "test_password", true));
+
+        // ## Act ##
+        var actual = cut.existsUsername(username);
+
+        // ## Assert ##
+        assertThat(actual).isFalse();
+    }
+
     @Test
     @DisplayName("existsUsername: ユーザー名が未登録のとき false")
     void existsUsername_returnFalse() {
@@ -143,6 +171,20 @@ class UserServiceTest {
         assertThat(userRepository.selectByUsername(existingUser2.getUsername())).contains(existingUser2);
     }
 
+    @Test
+    @DisplayName("delete: 削除したユーザーはキャッシュからも削除され、existsUsername が false になること")
+    void delete_evictCache() {
+        // ## Arrange ##
+        var existingUser = cut.register("test_username1", "test_password");
+        assertThat(cut.existsUsername(existingUser.getUsername())).isTrue();
+
+        // ## Act ##
+        cut.delete(existingUser.getUsername());
+
+        // ## Assert ##
+        assertThat(cut.existsUsername(existingUser.getUsername())).isFalse();
+    }
+
     @Test
     @DisplayName("delete: 存在しないユーザーを指定しても例外が発生せず処理が終了し、ほかのユーザーの削除もされない")
     void delete_success_nonExistingUser() {
@@ -208,7 +250,36 @@ class UserServiceTest {
         var actual = cut.findByUsername(existingUser1.getUsername());
 
         // ## Assert ##
-        assertThat(actual).isEqualTo(existingUser1);
+        assertThat(actual)
+                .usingRecursiveComparison()
+                .ignoringFields("password")
+                .isEqualTo(existingUser1);
+        assertThat(actual.getPassword())
+                .describedAs("パスワードのハッシュは返さない")
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("findByUsername: 2回目以降はキャッシュから取得し、データベースを参照しない")
+    void findByUsername_cacheHit() {
+        // ## Arrange ##
+        var existingUser = new UserEntity(null, "test_username1", "test_password", true, null);
+        userRepository.insert(existingUser);
+        cut.findByUsername(existingUser.getUsername());
+        // キャッシュを経由しない更新はキャッシュに反映されない
+        userRepository.update(new UserEntity(
+                existingUser.getId(),
+                existingUser.getUsername(),
+                existingUser.getPassword(),
+                true,
+                "users/" + existingUser.getId() + "/profile-image"
+        ));
+
+        // ## Act ##
+        var actual = cut.findByUsername(existingUser.getUsername());
+
+        // ## Assert ##
+        assertThat(actual.getImagePath()).isNull();
     }
 
     @Test
@@ -292,6 +363,36 @@ class UserServiceTest {
                 .contains(existingUser2);
     }
 
+    @Test
+    @DisplayName("updateProfileImage: 更新後に findByUsername で古い画像パスを返さないこと")
+    void updateProfileImage_evictCache() {
+        // ## Arrange ##
+        var existingUser = new UserEntity(null, "test_username1", "test_password", true, "users/0/old-image");
+        userRepository.insert(existingUser);
+
+        var newImagePath = "users/" + existingUser.getId() + "/profile-image";
+        s3Client.putObject(builder -> builder
+                        .bucket(s3Properties.bucket().profileImages())
+                        .key(newImagePath)
+                        .build(),
+                RequestBody.fromString("test")
+        );
+        // 更新前の値をキャッシュに載せておく
+        assertThat(cut.findByUsername(existingUser.getUsername()).getImagePath())
+                .isEqualTo("users/0/old-image");
+
+        // ## Act ##
+        cut.updateProfileImage(existingUser.getUsername(), newImagePath);
+
+        // ## Assert ##
+        assertThat(cut.findByUsername(existingUser.getUsername()).getImagePath())
+                .isEqualTo(newImagePath);
+        assertThat(userRepository.selectByUsername(existingUser.getUsername()))
+                .hasValueSatisfying(actual -> assertThat(actual.getPassword())
+                        .describedAs("キャッシュにパスワードがなくても、データベースのパスワードは消えない")
+                        .isEqualTo("test_password"));
+    }
+
     @ParameterizedTest
     @DisplayName("updateProfileImage: 存在しないユーザーを指定したとき ResourceNotFoundException が発生すること")
     @NullSource
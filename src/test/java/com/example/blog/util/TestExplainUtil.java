@@ -0,0 +1,33 @@
+package com.example.blog.util;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+public final class TestExplainUtil {
+
+    /**
+     * MyBatis のステートメントを指定したパラメータで組み立て、EXPLAIN の結果を返す。
+     * テストのトランザクションに参加するため、未コミットのデータも統計の対象になる。
+     */
+    public static List<Map<String, Object>> explain(
+            SqlSessionFactory sqlSessionFactory,
+            DataSource dataSource,
+            String statementId,
+            Map<String, Object> params
+    ) {
+        var boundSql = sqlSessionFactory.getConfiguration()
+                .getMappedStatement(statementId)
+                .getBoundSql(params);
+        var args = boundSql.getParameterMappings()
+                .stream()
+                .map(mapping -> boundSql.hasAdditionalParameter(mapping.getProperty())
+                        ? boundSql.getAdditionalParameter(mapping.getProperty())
+                        : params.get(mapping.getProperty()))
+                .toArray();
+        return new JdbcTemplate(dataSource).queryForList("EXPLAIN " + boundSql.getSql(), args);
+    }
+}
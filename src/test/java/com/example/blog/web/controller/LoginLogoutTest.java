@@ -1,7 +1,10 @@
 package com.example.blog.web.controller;
 
 
+import com.example.blog.repository.user.UserRepository;
+import com.example.blog.service.user.UserEntity;
 import com.example.blog.service.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,7 +12,10 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +27,9 @@ import static org.springframework.security.test.web.servlet.response.SecurityMoc
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -31,6 +40,14 @@ class LoginLogoutTest {
     @Autowired
     private UserService userService;
     @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
     private WebApplicationContext webApplicationContext;
 
     @BeforeEach
@@ -39,6 +56,12 @@ class LoginLogoutTest {
                 .webAppContextSetup(webApplicationContext)
                 .apply(springSecurity())
                 .build();
+
+        // 前のテストのログイン試行が、試行回数の制限に数えられないようにする
+        var keys = redisTemplate.keys("login-throttle:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
     }
 
     @Test
@@ -76,6 +99,42 @@ class LoginLogoutTest {
         ;
     }
 
+    @Test
+    @DisplayName("POST /login: 設定と異なるコストでハッシュ化されたパスワードは、ログイン成功時にハッシュし直して保存する")
+    void login_rehashPassword() throws Exception {
+        // ## Arrange ##
+        var username = "username123";
+        var password = "password123";
+        var oldHash = new BCryptPasswordEncoder(4).encode(password);
+        userRepository.insert(new UserEntity(null, username, oldHash, true));
+
+        var loginJson = """
+                {
+                  "username": "%s",
+                  "password": "%s"
+                }
+                """.formatted(username, password);
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                post("/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginJson)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(authenticated().withUsername(username))
+        ;
+        assertThat(userRepository.selectByUsername(username)).hasValueSatisfying(user -> {
+            assertThat(user.getPassword()).isNotEqualTo(oldHash);
+            assertThat(passwordEncoder.matches(password, user.getPassword())).isTrue();
+            assertThat(passwordEncoder.upgradeEncoding(user.getPassword())).isFalse();
+        });
+    }
+
     @ParameterizedTest
     @DisplayName("POST /login: ログイン失敗")
     @ValueSource(strings = {
@@ -105,6 +164,74 @@ class LoginLogoutTest {
         ;
     }
 
+    @Test
+    @DisplayName("POST /login: 同じユーザー名の試行回数が上限を超えたとき、パスワードを照合せずに 429 Too Many Requests")
+    void login_tooManyRequests() throws Exception {
+        // ## Arrange ##
+        userService.register("username123", "password123");
+        var invalidJson = """
+                { "username": "username123", "password": "__invalid__" }
+                """;
+        for (var i = 0; i < 10; i++) {
+            mockMvc.perform(post("/login").with(csrf()).contentType(MediaType.APPLICATION_JSON).content(invalidJson))
+                    .andExpect(status().isUnauthorized());
+        }
+        var matchesBefore = meterRegistry.get("password.encoder.duration").tag("operation", "matches")
+                .timer().count();
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                post("/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "username": "username123", "password": "password123" }
+                                """)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Too Many Requests"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.instance").value("/login"))
+                .andExpect(unauthenticated())
+        ;
+        assertThat(meterRegistry.get("password.encoder.duration").tag("operation", "matches").timer().count())
+                .describedAs("上限を超えた試行はパスワードを照合しない")
+                .isEqualTo(matchesBefore);
+    }
+
+    @Test
+    @DisplayName("POST /login: ログインに成功した試行は、同じユーザー名の試行回数に数えない")
+    void login_successNotCounted() throws Exception {
+        // ## Arrange ##
+        userService.register("username123", "password123");
+        var validJson = """
+                { "username": "username123", "password": "password123" }
+                """;
+        for (var i = 0; i < 10; i++) {
+            mockMvc.perform(post("/login").with(csrf()).contentType(MediaType.APPLICATION_JSON).content(validJson))
+                    .andExpect(status().isOk());
+        }
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                post("/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validJson)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(authenticated())
+        ;
+    }
+
     @Test
     @DisplayName("POST /logout: ログアウト成功")
     void logout_success() throws Exception {
@@ -0,0 +1,119 @@
+package com.example.blog.web.controller;
+
+import com.example.blog.repository.user.UserRepository;
+import com.example.blog.service.exception.ServiceUnavailableException;
+import com.example.blog.service.user.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ServiceUnavailableTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+    @MockBean
+    private PasswordEncoder mockPasswordEncoder;
+
+    @BeforeEach
+    void beforeEach() {
+        // 前のテストのログイン試行が、試行回数の制限に数えられないようにする
+        var keys = redisTemplate.keys("login-throttle:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    @DisplayName("POST /login: パスワードの照合が混雑しているとき、503 Service Unavailable")
+    void login_serviceUnavailable() throws Exception {
+        // ## Arrange ##
+        userRepository.insert(new UserEntity(null, "username123", "encoded_password", true));
+        when(mockPasswordEncoder.matches(any(), anyString()))
+                .thenThrow(new ServiceUnavailableException(new RejectedExecutionException()));
+
+        var loginJson = """
+                {
+                  "username": "username123",
+                  "password": "password123"
+                }
+                """;
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                post("/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(loginJson)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Service Unavailable"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.instance").value("/login"))
+                .andExpect(unauthenticated())
+        ;
+    }
+
+    @Test
+    @DisplayName("POST /users: パスワードのハッシュ化が混雑しているとき、503 Service Unavailable")
+    void createUser_serviceUnavailable() throws Exception {
+        // ## Arrange ##
+        when(mockPasswordEncoder.encode(any()))
+                .thenThrow(new ServiceUnavailableException(new RejectedExecutionException()));
+
+        var newUserJson = """
+                {
+                  "username": "username123",
+                  "password": "password123"
+                }
+                """;
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                post("/users")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(newUserJson)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Service Unavailable"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.instance").value("/users"))
+        ;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.service.article.ArticleCommentEntity;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import com.example.blog.util.TestDateTimeUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleCommentMapperTest {
+
+    @Test
+    @DisplayName("toDTO: すべての項目をコピーする")
+    void toDTO() {
+        // ## Arrange ##
+        var entity = new ArticleCommentEntity(
+                1L,
+                "test_comment_body",
+                new ArticleEntity(10L, "test_title", "test_body", null, null, null),
+                new UserEntity(2L, "test_username", "test_password", true, "users/2/profile-image"),
+                TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30)
+        );
+
+        // ## Act ##
+        var actual = ArticleCommentMapper.toDTO(entity);
+
+        // ## Assert ##
+        assertThat(actual.getId()).isEqualTo(1L);
+        assertThat(actual.getBody()).isEqualTo("test_comment_body");
+        assertThat(actual.getCreatedAt()).isEqualTo(entity.getCreatedAt());
+        assertThat(actual.getAuthor().getId()).isEqualTo(2L);
+        assertThat(actual.getAuthor().getUsername()).isEqualTo("test_username");
+        assertThat(actual.getAuthor().getImagePath()).isEqualTo("users/2/profile-image");
+    }
+}
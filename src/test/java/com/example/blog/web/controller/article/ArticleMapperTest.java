@@ -0,0 +1,66 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.user.UserEntity;
+import com.example.blog.util.TestDateTimeUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleMapperTest {
+
+    private final ArticleEntity entity = new ArticleEntity(
+            1L,
+            "test_title",
+            "test_body",
+            "test_excerpt",
+            new UserEntity(2L, "test_username", "test_password", true, "users/2/profile-image"),
+            TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30),
+            TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30),
+            3,
+            TestDateTimeUtil.of(2020, 3, 1, 10, 20, 30)
+    );
+
+    @Test
+    @DisplayName("toArticleDTO: すべての項目をコピーする")
+    void toArticleDTO() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = ArticleMapper.toArticleDTO(entity);
+
+        // ## Assert ##
+        assertThat(actual.getId()).isEqualTo(1L);
+        assertThat(actual.getTitle()).isEqualTo("test_title");
+        assertThat(actual.getBody()).isEqualTo("test_body");
+        assertThat(actual.getCreatedAt()).isEqualTo(entity.getCreatedAt());
+        assertThat(actual.getUpdatedAt()).isEqualTo(entity.getUpdatedAt());
+        assertThat(actual.getCommentCount()).isEqualTo(3);
+        assertThat(actual.getLastCommentedAt()).isEqualTo(entity.getLastCommentedAt());
+        assertThat(actual.getAuthor().getId()).isEqualTo(2L);
+        assertThat(actual.getAuthor().getUsername()).isEqualTo("test_username");
+        assertThat(actual.getAuthor().getImagePath()).isEqualTo("users/2/profile-image");
+    }
+
+    @Test
+    @DisplayName("toArticleListItemDTO: 本文以外の項目をコピーする")
+    void toArticleListItemDTO() {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = ArticleMapper.toArticleListItemDTO(entity);
+
+        // ## Assert ##
+        assertThat(actual.getId()).isEqualTo(1L);
+        assertThat(actual.getTitle()).isEqualTo("test_title");
+        assertThat(actual.getExcerpt()).isEqualTo("test_excerpt");
+        assertThat(actual.getCreatedAt()).isEqualTo(entity.getCreatedAt());
+        assertThat(actual.getUpdatedAt()).isEqualTo(entity.getUpdatedAt());
+        assertThat(actual.getCommentCount()).isEqualTo(3);
+        assertThat(actual.getLastCommentedAt()).isEqualTo(entity.getLastCommentedAt());
+        assertThat(actual.getAuthor().getId()).isEqualTo(2L);
+        assertThat(actual.getAuthor().getUsername()).isEqualTo("test_username");
+        assertThat(actual.getAuthor().getImagePath()).isEqualTo("users/2/profile-image");
+    }
+}
@@ -3,7 +3,10 @@ package com.example.blog.web.controller.article;
 
 import com.example.blog.security.LoggedInUser;
 import com.example.blog.service.article.ArticleCommentService;
+import com.example.blog.service.article.ArticleEntity;
 import com.example.blog.service.article.ArticleService;
+import com.example.blog.service.user.UserEntity;
+import com.example.blog.util.TestDateTimeUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,8 +16,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.function.Consumer;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.hamcrest.Matchers.aMapWithSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -51,7 +59,8 @@ class ArticleRestController500InternalServerErrorTest {
         var userId = 999L;
         var title = "test_title";
         var body = "test_body";
-        when(articleService.create(userId, title, body)).thenThrow(RuntimeException.class);
+        var author = new UserEntity(userId, "test_username", null, true);
+        when(articleService.create(author, title, body)).thenThrow(RuntimeException.class);
 
         var bodyJson = """
                 {
@@ -85,7 +94,7 @@ class ArticleRestController500InternalServerErrorTest {
     @DisplayName("GET /articles: 500 InternalServerError で stacktrace が露出しない")
     void listArticles_500() throws Exception {
         // ## Arrange ##
-        when(articleService.findAll()).thenThrow(RuntimeException.class);
+        when(articleService.findPage(null, 20)).thenThrow(RuntimeException.class);
 
         // ## Act ##
         var actual = mockMvc.perform(
@@ -237,7 +246,7 @@ class ArticleRestController500InternalServerErrorTest {
     void listArticleComments_500() throws Exception {
         // ## Arrange ##
         var articleId = 9999L;
-        doThrow(RuntimeException.class).when(articleCommentService).findByArticleId(articleId);
+        doThrow(RuntimeException.class).when(articleCommentService).findPageByArticleId(articleId, null, 20);
 
         // ## Act ##
         var actual = mockMvc.perform(
@@ -257,4 +266,60 @@ class ArticleRestController500InternalServerErrorTest {
         ;
     }
 
+
+    @Test
+    @DisplayName("GET /articles/stream: 送信前に読み込みが失敗したとき、途中までの一覧を捨てて 500 InternalServerError を返す")
+    void streamArticles_500_beforeCommit() throws Exception {
+        // ## Arrange ##
+        doAnswer(invocation -> {
+            Consumer<ArticleEntity> action = invocation.getArgument(0);
+            action.accept(newArticle());
+            throw new RuntimeException();
+        }).when(articleService).forEachOrderByCreatedAtDesc(any());
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/stream")
+                        .with(user("user1"))
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.items").doesNotExist())
+                .andExpect(jsonPath("$.title").value("Internal Server Error"))
+                .andExpect(jsonPath("$.instance").value("/articles/stream"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/stream: 送信した後に読み込みが失敗したとき、JSON を閉じずにエラーをコンテナに投げる")
+    void streamArticles_500_afterCommit() throws Exception {
+        // ## Arrange ##
+        doAnswer(invocation -> {
+            Consumer<ArticleEntity> action = invocation.getArgument(0);
+            // レスポンスのバッファがあふれて送信されるまで書き込む
+            for (int i = 0; i < 1_000; i++) {
+                action.accept(newArticle());
+            }
+            throw new RuntimeException("test_failure");
+        }).when(articleService).forEachOrderByCreatedAtDesc(any());
+
+        // ## Act ##
+        var thrown = catchThrowable(() -> mockMvc.perform(
+                get("/articles/stream")
+                        .with(user("user1"))
+        ));
+
+        // ## Assert ##
+        // 500 を書き足さずに投げ直すことで、コンテナが接続を切断する
+        assertThat(thrown).rootCause().hasMessage("test_failure");
+    }
+
+    private static ArticleEntity newArticle() {
+        var author = new UserEntity(1L, "test_username", null, true);
+        var createdAt = TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30);
+        return new ArticleEntity(1L, "test_title", "test_body", author, createdAt, createdAt);
+    }
 }
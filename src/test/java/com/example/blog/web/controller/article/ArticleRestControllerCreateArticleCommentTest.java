@@ -42,7 +42,7 @@ class ArticleRestControllerCreateArticleCommentTest {
     void beforeEach() {
         var articleAuthor = userService.register("test_username1", "test_password1");
         article = articleService.create(
-                articleAuthor.getId(),
+                articleAuthor,
                 "test_article_title",
                 "test_article_body"
         );
@@ -1,17 +1,27 @@
 package com.example.blog.web.controller.article;
 
+import com.example.blog.service.DateTimeService;
+import com.example.blog.service.article.ArticleCommentService;
 import com.example.blog.service.article.ArticleService;
 import com.example.blog.service.user.UserService;
+import com.example.blog.util.TestDateTimeUtil;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -25,7 +35,16 @@ class ArticleRestControllerGetArticleTest {
     @Autowired
     private ArticleService articleService;
     @Autowired
+    private ArticleCommentService articleCommentService;
+    @Autowired
     private UserService userService;
+    @MockBean
+    private DateTimeService mockDateTimeService;
+
+    @BeforeEach
+    void beforeEach() {
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30));
+    }
 
     @Test
     void setup() {
@@ -44,7 +63,7 @@ class ArticleRestControllerGetArticleTest {
     void getArticle_success() throws Exception {
         // ## Arrange ##
         var expectedUser1 = userService.register("test_username1", "test_password1");
-        var expectedArticle1 = articleService.create(expectedUser1.getId(), "test_title1", "test_body1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
 
         // ## Act ##
         var actual = mockMvc.perform(
@@ -63,6 +82,8 @@ class ArticleRestControllerGetArticleTest {
                 .andExpect(jsonPath("$.updatedAt").value(expectedArticle1.getUpdatedAt().toString()))
                 .andExpect(jsonPath("$.author.id").value(expectedUser1.getId()))
                 .andExpect(jsonPath("$.author.username").value(expectedUser1.getUsername()))
+                .andExpect(jsonPath("$.commentCount").value(0))
+                .andExpect(jsonPath("$.lastCommentedAt").isEmpty())
         ;
     }
 
@@ -89,4 +110,137 @@ class ArticleRestControllerGetArticleTest {
         ;
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("GET /articles/{articleId}: レスポンスに ETag と Last-Modified ヘッダーが含まれる")
+    void getArticle_validators() throws Exception {
+        // ## Arrange ##
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}", expectedArticle1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().dateValue(
+                        HttpHeaders.LAST_MODIFIED,
+                        expectedArticle1.getUpdatedAt().toInstant().toEpochMilli()
+                ))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}: If-None-Match が ETag と一致するとき 304 を返す")
+    void getArticle_304_ifNoneMatch() throws Exception {
+        // ## Arrange ##
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+        var etag = mockMvc.perform(get("/articles/{articleId}", expectedArticle1.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}", expectedArticle1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}: If-Modified-Since 以降に更新されていないとき 304 を返す")
+    void getArticle_304_ifModifiedSince() throws Exception {
+        // ## Arrange ##
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}", expectedArticle1.getId())
+                        .header(
+                                HttpHeaders.IF_MODIFIED_SINCE,
+                                DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                        expectedArticle1.getUpdatedAt().atZoneSameInstant(ZoneOffset.UTC)
+                                )
+                        )
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}: 記事が更新されたとき、古い ETag を指定しても 200 を返す")
+    void getArticle_200_afterUpdate() throws Exception {
+        // ## Arrange ##
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+        var etag = mockMvc.perform(get("/articles/{articleId}", expectedArticle1.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        when(mockDateTimeService.now()).thenReturn(TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30));
+        articleService.update(expectedUser1.getId(), expectedArticle1.getId(), "test_title1_updated", "test_body1_updated");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}", expectedArticle1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("test_title1_updated"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}: コメントが追加されたとき、古い ETag を指定しても 200 を返す")
+    void getArticle_200_afterComment() throws Exception {
+        // ## Arrange ##
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+        var etag = mockMvc.perform(get("/articles/{articleId}", expectedArticle1.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        var expectedCommentedAt = TestDateTimeUtil.of(2020, 1, 2, 10, 20, 30);
+        when(mockDateTimeService.now()).thenReturn(expectedCommentedAt);
+        articleCommentService.create(expectedUser1.getId(), expectedArticle1.getId(), "test_comment_body1");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}", expectedArticle1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(header().dateValue(
+                        HttpHeaders.LAST_MODIFIED,
+                        expectedCommentedAt.toInstant().toEpochMilli()
+                ))
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andExpect(jsonPath("$.lastCommentedAt").value(expectedCommentedAt.toString()))
+        ;
+    }
+}
@@ -5,12 +5,14 @@ import com.example.blog.service.article.ArticleCommentService;
 import com.example.blog.service.article.ArticleEntity;
 import com.example.blog.service.article.ArticleService;
 import com.example.blog.service.user.UserService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,7 +43,7 @@ class ArticleRestControllerListArticleCommentsTest {
     void beforeEach() {
         var articleAuthor = userService.register("test_username1", "test_password1");
         article = articleService.create(
-                articleAuthor.getId(),
+                articleAuthor,
                 "test_article_title",
                 "test_article_body"
         );
@@ -93,6 +95,60 @@ class ArticleRestControllerListArticleCommentsTest {
         ;
     }
 
+    @Test
+    @DisplayName("GET /articles/{articleId}/comments: limit を超えるコメントがあるとき、nextCursor で続きのページを取得できる")
+    void listArticleComments_200OK_pagination() throws Exception {
+        // ## Arrange ##
+        var nextCursor = JsonPath.<String>read(
+                mockMvc.perform(get("/articles/{articleId}/comments", article.getId())
+                                .queryParam("limit", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.comments.length()").value(1))
+                        .andExpect(jsonPath("$.comments[0].id").value(comment1.getId()))
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString(),
+                "$.nextCursor"
+        );
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}/comments", article.getId())
+                        .queryParam("cursor", nextCursor)
+                        .queryParam("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(1))
+                .andExpect(jsonPath("$.comments[0].id").value(comment2.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}/comments: cursor が不正なとき、400を返す")
+    void listArticleComments_400BadRequest_invalidCursor() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}/comments", article.getId())
+                        .queryParam("cursor", "!!!")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/cursor"))
+        ;
+    }
+
     @Test
     @DisplayName("GET /articles/{articleId}/comments: 指定されたIDの記事が存在しないとき、404を返す")
     void listArticleComments_404NotFound() throws Exception {
@@ -115,4 +171,57 @@ class ArticleRestControllerListArticleCommentsTest {
                 .andExpect(jsonPath("$.instance").value("/articles/%d/comments".formatted(invalidArticleId)))
         ;
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /articles/{articleId}/comments: If-None-Match が ETag と一致するとき 304 を返す")
+    void listArticleComments_304NotModified() throws Exception {
+        // ## Arrange ##
+        var firstResponse = mockMvc.perform(get("/articles/{articleId}/comments", article.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().dateValue(
+                        HttpHeaders.LAST_MODIFIED,
+                        comment2.getCreatedAt().toInstant().toEpochMilli()
+                ))
+                .andReturn()
+                .getResponse();
+        var etag = firstResponse.getHeader(HttpHeaders.ETAG);
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}/comments", article.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/{articleId}/comments: コメントが追加されたとき、古い ETag を指定しても 200 を返す")
+    void listArticleComments_200OK_afterNewComment() throws Exception {
+        // ## Arrange ##
+        var etag = mockMvc.perform(get("/articles/{articleId}/comments", article.getId()))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        var commentAuthor = userService.register("test_username4", "test_password4");
+        var comment3 = articleCommentService.create(commentAuthor.getId(), article.getId(), "test_body3");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/{articleId}/comments", article.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[2].id").value(comment3.getId()))
+        ;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.blog.service.DateTimeService;
 import com.example.blog.service.article.ArticleService;
 import com.example.blog.service.user.UserService;
 import com.example.blog.util.TestDateTimeUtil;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,8 +60,8 @@ class ArticleRestControllerListArticlesTest {
                 .thenReturn(TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30));
         var expectedUser1 = userService.register("test_username1", "test_password1");
         var expectedUser2 = userService.register("test_username2", "test_password2");
-        var expectedArticle1 = articleService.create(expectedUser1.getId(), "test_title1", "test_body1");
-        var expectedArticle2 = articleService.create(expectedUser2.getId(), "test_title2", "test_body2");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+        var expectedArticle2 = articleService.create(expectedUser2, "test_title2", "test_body2");
 
         // ## Act ##
         var actual = mockMvc.perform(
@@ -80,6 +81,8 @@ class ArticleRestControllerListArticlesTest {
         actual
                 .andExpect(jsonPath("$.items[0].id").value(expectedArticle2.getId()))
                 .andExpect(jsonPath("$.items[0].title").value(expectedArticle2.getTitle()))
+                .andExpect(jsonPath("$.items[0].excerpt").value(expectedArticle2.getExcerpt()))
+                .andExpect(jsonPath("$.items[0].body").doesNotExist())
                 .andExpect(jsonPath("$.items[0].createdAt").value(expectedArticle2.getCreatedAt().toString()))
                 .andExpect(jsonPath("$.items[0].updatedAt").value(expectedArticle2.getUpdatedAt().toString()))
                 .andExpect(jsonPath("$.items[0].author.id").value(expectedUser2.getId()))
@@ -90,6 +93,8 @@ class ArticleRestControllerListArticlesTest {
         actual
                 .andExpect(jsonPath("$.items[1].id").value(expectedArticle1.getId()))
                 .andExpect(jsonPath("$.items[1].title").value(expectedArticle1.getTitle()))
+                .andExpect(jsonPath("$.items[1].excerpt").value(expectedArticle1.getExcerpt()))
+                .andExpect(jsonPath("$.items[1].body").doesNotExist())
                 .andExpect(jsonPath("$.items[1].createdAt").value(expectedArticle1.getCreatedAt().toString()))
                 .andExpect(jsonPath("$.items[1].updatedAt").value(expectedArticle1.getUpdatedAt().toString()))
                 .andExpect(jsonPath("$.items[1].author.id").value(expectedUser1.getId()))
@@ -97,4 +102,105 @@ class ArticleRestControllerListArticlesTest {
         ;
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("GET /articles: limit を超える記事があるとき、nextCursor を使って続きのページを取得できる")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            """
+    })
+    void listArticles_pagination() throws Exception {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2020, 3, 1, 10, 20, 30));
+        var expectedUser = userService.register("test_username1", "test_password1");
+        var expectedArticle1 = articleService.create(expectedUser, "test_title1", "test_body1");
+        var expectedArticle2 = articleService.create(expectedUser, "test_title2", "test_body2");
+        var expectedArticle3 = articleService.create(expectedUser, "test_title3", "test_body3");
+
+        // ## Act ##
+        var firstPage = mockMvc.perform(
+                get("/articles")
+                        .queryParam("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        firstPage
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(expectedArticle3.getId()))
+                .andExpect(jsonPath("$.items[1].id").value(expectedArticle2.getId()))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        ;
+
+        var nextCursor = JsonPath.<String>read(
+                firstPage.andReturn().getResponse().getContentAsString(),
+                "$.nextCursor"
+        );
+
+        // ## Act ##
+        var secondPage = mockMvc.perform(
+                get("/articles")
+                        .queryParam("limit", "2")
+                        .queryParam("cursor", nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        secondPage
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(expectedArticle1.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles: cursor が不正なとき、400 BadRequest を返す")
+    void listArticles_invalidCursor() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles")
+                        .queryParam("cursor", "invalid-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Bad Request"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.instance").value("/articles"))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/cursor"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles: limit が範囲外のとき、400 BadRequest を返す")
+    void listArticles_invalidLimit() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles")
+                        .queryParam("limit", "101")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Bad Request"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.instance").value("/articles"))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/limit"))
+        ;
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.service.article.ArticleCommentEntity;
+import com.example.blog.service.article.ArticleCommentService;
+import com.example.blog.service.article.ArticleEntity;
+import com.example.blog.service.article.ArticleService;
+import com.example.blog.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ArticleRestControllerListCommentsByArticleIdsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private ArticleCommentService articleCommentService;
+
+    private ArticleEntity article1;
+    private ArticleEntity article2;
+    private ArticleCommentEntity article1Comment1;
+    private ArticleCommentEntity article1Comment2;
+
+    @BeforeEach
+    void beforeEach() {
+        var articleAuthor = userService.register("test_username1", "test_password1");
+        article1 = articleService.create(articleAuthor, "test_article_title1", "test_article_body1");
+        article2 = articleService.create(articleAuthor, "test_article_title2", "test_article_body2");
+
+        var commentAuthor = userService.register("test_username2", "test_password2");
+        article1Comment1 = articleCommentService.create(commentAuthor.getId(), article1.getId(), "test_body1");
+        article1Comment2 = articleCommentService.create(commentAuthor.getId(), article1.getId(), "test_body2");
+        articleCommentService.create(commentAuthor.getId(), article1.getId(), "test_body3");
+    }
+
+    @Test
+    void setup() {
+        // ## Arrange ##
+
+        // ## Act ##
+
+        // ## Assert ##
+        assertThat(mockMvc).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /articles/comments: 指定した記事IDの順に、記事ごとのコメントを limit 件まで取得できる")
+    void listCommentsByArticleIds_200OK() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/comments")
+                        .queryParam("articleIds", "%d,%d".formatted(article2.getId(), article1.getId()))
+                        .queryParam("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.articles.length()").value(2))
+
+                .andExpect(jsonPath("$.articles[0].articleId").value(article2.getId()))
+                .andExpect(jsonPath("$.articles[0].comments.length()").value(0))
+
+                .andExpect(jsonPath("$.articles[1].articleId").value(article1.getId()))
+                .andExpect(jsonPath("$.articles[1].comments.length()").value(2))
+                .andExpect(jsonPath("$.articles[1].comments[0].id").value(article1Comment1.getId()))
+                .andExpect(jsonPath("$.articles[1].comments[0].body").value(article1Comment1.getBody()))
+                .andExpect(jsonPath("$.articles[1].comments[0].author.id").value(article1Comment1.getAuthor().getId()))
+                .andExpect(jsonPath("$.articles[1].comments[0].author.username").value(article1Comment1.getAuthor().getUsername()))
+                .andExpect(jsonPath("$.articles[1].comments[0].createdAt").value(article1Comment1.getCreatedAt().toString()))
+                .andExpect(jsonPath("$.articles[1].comments[1].id").value(article1Comment2.getId()))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/comments: articleIds が50件を超えるとき、400を返す")
+    void listCommentsByArticleIds_400BadRequest_tooManyArticleIds() throws Exception {
+        // ## Arrange ##
+        var articleIds = LongStream.rangeClosed(1, 51)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/comments")
+                        .queryParam("articleIds", articleIds)
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/articleIds"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/comments: limit が範囲外のとき、400を返す")
+    void listCommentsByArticleIds_400BadRequest_invalidLimit() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/comments")
+                        .queryParam("articleIds", String.valueOf(article1.getId()))
+                        .queryParam("limit", "21")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/limit"))
+        ;
+    }
+}
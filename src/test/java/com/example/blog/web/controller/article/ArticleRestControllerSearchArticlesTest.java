@@ -0,0 +1,126 @@
+package com.example.blog.web.controller.article;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ArticleRestControllerSearchArticlesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void setup() {
+        // ## Arrange ##
+
+        // ## Act ##
+
+        // ## Assert ##
+        assertThat(mockMvc).isNotNull();
+    }
+
+    // FULLTEXT インデックスはコミットされた行しか検索できないため、トランザクションの外でデータを投入する
+    @Test
+    @DisplayName("GET /articles/search: キーワードを含む記事を関連度の高い順に取得できる")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            
+            INSERT INTO users (id, username, password, enabled)
+            VALUES (999901, 'test_search_user1', 'test_password_1', true);
+            
+            INSERT INTO articles (id, user_id, title, body, excerpt, created_at, updated_at)
+            VALUES (999901, 999901, 'その他', '今日はぬるぽに遭遇した', 'excerpt_1', '2010-10-01 00:00:00', '2010-10-01 00:00:00')
+                 , (999902, 999901, 'ぬるぽ入門', 'ぬるぽ ぬるぽ ぬるぽ', 'excerpt_2', '2010-10-02 00:00:00', '2010-10-02 00:00:00')
+                 , (999903, 999901, 'ガッ', '関係のない記事', 'excerpt_3', '2010-10-03 00:00:00', '2010-10-03 00:00:00');
+            """
+    })
+    @Sql(statements = {"""
+            DELETE FROM articles WHERE user_id = 999901;
+            DELETE FROM users WHERE id = 999901;
+            """
+    }, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void searchArticles_success() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/search")
+                        .queryParam("q", "ぬるぽ")
+                        .queryParam("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(999902))
+                .andExpect(jsonPath("$.items[0].title").value("ぬるぽ入門"))
+                .andExpect(jsonPath("$.items[0].excerpt").value("excerpt_2"))
+                .andExpect(jsonPath("$.items[0].body").doesNotExist())
+                .andExpect(jsonPath("$.items[0].author.username").value("test_search_user1"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/search: キーワードが短すぎるとき、400 BadRequest を返す")
+    void searchArticles_invalidKeyword() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/search")
+                        .queryParam("q", "ぬ")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Bad Request"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.instance").value("/articles/search"))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/q"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/search: cursor が不正なとき、400 BadRequest を返す")
+    void searchArticles_invalidCursor() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/search")
+                        .queryParam("q", "ぬるぽ")
+                        .queryParam("cursor", "invalid-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/cursor"))
+        ;
+    }
+}
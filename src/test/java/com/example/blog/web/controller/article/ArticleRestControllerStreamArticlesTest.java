@@ -0,0 +1,150 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.service.DateTimeService;
+import com.example.blog.service.article.ArticleService;
+import com.example.blog.service.user.UserService;
+import com.example.blog.util.TestDateTimeUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ArticleRestControllerStreamArticlesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ArticleService articleService;
+    @Autowired
+    private UserService userService;
+    @MockBean
+    private DateTimeService mockDateTimeService;
+
+    @Test
+    void setup() {
+        // ## Arrange ##
+
+        // ## Act ##
+
+        // ## Assert ##
+        assertThat(mockMvc).isNotNull();
+        assertThat(articleService).isNotNull();
+        assertThat(userService).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /articles/stream: すべての記事の一覧を取得できる")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            """
+    })
+    void streamArticles_success() throws Exception {
+        // ## Arrange ##
+        when(mockDateTimeService.now())
+                .thenReturn(TestDateTimeUtil.of(2020, 1, 1, 10, 20, 30))
+                .thenReturn(TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30));
+        var expectedUser1 = userService.register("test_username1", "test_password1");
+        var expectedUser2 = userService.register("test_username2", "test_password2");
+        var expectedArticle1 = articleService.create(expectedUser1, "test_title1", "test_body1");
+        var expectedArticle2 = articleService.create(expectedUser2, "test_title2", "test_body2");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/stream")
+                        .with(user("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+
+        // response header
+        actual
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        ;
+
+        // response body
+        actual
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+
+                .andExpect(jsonPath("$.items[0].id").value(expectedArticle2.getId()))
+                .andExpect(jsonPath("$.items[0].title").value(expectedArticle2.getTitle()))
+                .andExpect(jsonPath("$.items[0].excerpt").value(expectedArticle2.getExcerpt()))
+                .andExpect(jsonPath("$.items[0].createdAt").value(expectedArticle2.getCreatedAt().toString()))
+                .andExpect(jsonPath("$.items[0].updatedAt").value(expectedArticle2.getUpdatedAt().toString()))
+                .andExpect(jsonPath("$.items[0].author.id").value(expectedUser2.getId()))
+                .andExpect(jsonPath("$.items[0].author.username").value(expectedUser2.getUsername()))
+
+                .andExpect(jsonPath("$.items[1].id").value(expectedArticle1.getId()))
+                .andExpect(jsonPath("$.items[1].title").value(expectedArticle1.getTitle()))
+                .andExpect(jsonPath("$.items[1].excerpt").value(expectedArticle1.getExcerpt()))
+                .andExpect(jsonPath("$.items[1].createdAt").value(expectedArticle1.getCreatedAt().toString()))
+                .andExpect(jsonPath("$.items[1].updatedAt").value(expectedArticle1.getUpdatedAt().toString()))
+                .andExpect(jsonPath("$.items[1].author.id").value(expectedUser1.getId()))
+                .andExpect(jsonPath("$.items[1].author.username").value(expectedUser1.getUsername()))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/stream: 記事が存在しないとき、空の一覧を返す")
+    @Sql(statements = {"""
+            DELETE FROM articles;
+            """
+    })
+    void streamArticles_empty() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/stream")
+                        .with(user("user1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("""
+                        {"items": []}
+                        """, true))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/stream: 未ログインのとき、401 Unauthorized を返す")
+    void streamArticles_401Unauthorized() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/stream")
+                // .with(user("user1")) // 未ログイン状態
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Unauthorized"))
+                .andExpect(jsonPath("$.status").value(401))
+                .andExpect(jsonPath("$.instance").value("/articles/stream"))
+        ;
+    }
+}
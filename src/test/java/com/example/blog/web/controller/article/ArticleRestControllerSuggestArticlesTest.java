@@ -0,0 +1,96 @@
+package com.example.blog.web.controller.article;
+
+import com.example.blog.repository.article.ArticleTitleIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ArticleRestControllerSuggestArticlesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ArticleTitleIndex articleTitleIndex;
+
+    @AfterEach
+    void afterEach() {
+        articleTitleIndex.remove(999901);
+        articleTitleIndex.remove(999902);
+        articleTitleIndex.remove(999903);
+    }
+
+    @Test
+    void setup() {
+        // ## Arrange ##
+
+        // ## Act ##
+
+        // ## Assert ##
+        assertThat(mockMvc).isNotNull();
+        assertThat(articleTitleIndex).isNotNull();
+    }
+
+    @Test
+    @DisplayName("GET /articles/suggest: タイトルが prefix で始まる記事を取得できる")
+    void suggestArticles_success() throws Exception {
+        // ## Arrange ##
+        articleTitleIndex.put(999901, "test_suggest_b");
+        articleTitleIndex.put(999902, "test_suggest_a");
+        articleTitleIndex.put(999903, "test_other");
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/suggest")
+                        .queryParam("prefix", "TEST_SUGGEST")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.suggestions.length()").value(2))
+                .andExpect(jsonPath("$.suggestions[0].id").value(999902))
+                .andExpect(jsonPath("$.suggestions[0].title").value("test_suggest_a"))
+                .andExpect(jsonPath("$.suggestions[1].id").value(999901))
+                .andExpect(jsonPath("$.suggestions[1].title").value("test_suggest_b"))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /articles/suggest: limit が範囲外のとき、400 BadRequest を返す")
+    void suggestArticles_invalidLimit() throws Exception {
+        // ## Arrange ##
+
+        // ## Act ##
+        var actual = mockMvc.perform(
+                get("/articles/suggest")
+                        .queryParam("prefix", "test")
+                        .queryParam("limit", "21")
+                        .contentType(MediaType.APPLICATION_JSON)
+        );
+
+        // ## Assert ##
+        actual
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Bad Request"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.instance").value("/articles/suggest"))
+                .andExpect(jsonPath("$.errors[0].pointer").value("#/limit"))
+        ;
+    }
+}
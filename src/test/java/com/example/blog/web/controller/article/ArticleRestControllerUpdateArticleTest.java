@@ -51,7 +51,7 @@ class ArticleRestControllerUpdateArticleTest {
                 .thenReturn(TestDateTimeUtil.of(2020, 2, 1, 10, 20, 30));
 
         author = userService.register("test_username", "test_password");
-        existingArticle = articleService.create(author.getId(), "test_title", "test_body");
+        existingArticle = articleService.create(author, "test_title", "test_body");
         loggedInAuthor = new LoggedInUser(author.getId(), author.getUsername(), author.getPassword(), true);
     }
 
@@ -0,0 +1,57 @@
+package com.example.blog.web.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedObjectWriterHttpMessageConverterTest {
+
+    private final CachedObjectWriterHttpMessageConverter cut = new CachedObjectWriterHttpMessageConverter(new ObjectMapper());
+
+    @Test
+    @DisplayName("write: JSON を書き込み、レスポンスのストリームは閉じない")
+    void write_notCloseBody() throws Exception {
+        // ## Arrange ##
+        var body = new CloseTrackingOutputStream();
+        var outputMessage = new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+
+        // ## Act ##
+        cut.write(Map.of("key", "value"), MediaType.APPLICATION_JSON, outputMessage);
+
+        // ## Assert ##
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"key\":\"value\"}");
+        assertThat(body.closed).isFalse();
+    }
+
+    private static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.blog.web.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsoOffsetDateTimeSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(OffsetDateTime.class, new IsoOffsetDateTimeSerializer()));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2020-01-01T10:20:30+09:00",
+            "2020-01-01T10:20:00+09:00",
+            "2020-01-01T00:00:00Z",
+            "2020-12-31T23:59:59.1-03:30",
+            "2020-06-15T01:02:03.123456789+05:45",
+            "2020-06-15T01:02:03.000100+14:00",
+            "0001-01-01T00:00:00-18:00",
+            "+10000-01-01T00:00:00Z",
+            "2020-01-01T10:20:30+09:00:15",
+    })
+    @DisplayName("DateTimeFormatter.ISO_OFFSET_DATE_TIME と同じ文字列を出力する")
+    void serialize(String input) throws Exception {
+        // ## Arrange ##
+        var value = OffsetDateTime.parse(input);
+
+        // ## Act ##
+        var actual = objectMapper.writeValueAsString(value);
+
+        // ## Assert ##
+        assertThat(actual).isEqualTo("\"" + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value) + "\"");
+    }
+}